@@ -22,7 +22,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.swing.BorderFactory;
 import javax.swing.Icon;
@@ -44,19 +43,18 @@ import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
-import javax.swing.event.TreeExpansionEvent;
-import javax.swing.event.TreeWillExpandListener;
-import javax.swing.text.DefaultHighlighter;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
 
+import org.l2explorer.io.RandomAccess;
 import org.l2explorer.io.UnrealPackage;
 import org.l2explorer.io.UnrealPackage.ExportEntry;
 import org.l2explorer.unreal.UnrealSerializerFactory;
 import org.l2explorer.utils.crypt.rsa.L2Ver41x;
 import org.l2explorer.utils.crypt.rsa.L2Ver41xInputStream;
-import org.l2explorer.utils.enums.UnrealOpcode;
 import org.l2explorer.utils.unreal.UnrealDecompiler;
 
 public class ExplorerPanel extends JPanel {
@@ -81,6 +79,9 @@ public class ExplorerPanel extends JPanel {
     private JPanel mipMapGalleryPanel;
     public DebugConsole debugConsole;
     private UnrealDecompiler decompiler;
+    private transient SelectionPipeline<SelectionResult> selectionPipeline;
+    private static final int SELECTION_THREADS = 2;
+    private static final int PREFETCH_DISTANCE = 2;
     private UnrealPackage currentPackage;
     @SuppressWarnings("unused")
 	private File systemDir;
@@ -93,12 +94,12 @@ public class ExplorerPanel extends JPanel {
         this.systemDir = baseDir;
         this.debugConsole = new DebugConsole();
 
-        org.l2explorer.unreal.UnrealSerializerFactory factory = 
-                new org.l2explorer.unreal.UnrealSerializerFactory(new org.l2explorer.unreal.SimpleEnv(up));
             UnrealSerializerFactory.setBaseDir(baseDir);
             
-            // Agora passamos a factory em vez do baseDir
-            this.decompiler = new UnrealDecompiler(up, factory);
+            // A sessão cria o ambiente e a factory compartilhados pelo pacote
+            this.decompiler = new UnrealDecompiler(
+                    new org.l2explorer.utils.unreal.DecompilerSession(up, new org.l2explorer.unreal.SimpleEnv(up)));
+            startSelectionPipeline(up, null);
         
         setLayout(new BorderLayout());
         setBackground(MAIN_BG);
@@ -163,8 +164,7 @@ public class ExplorerPanel extends JPanel {
     }
     
     private void InspectAction() {
-        DefaultMutableTreeNode node = (DefaultMutableTreeNode) objectTree.getLastSelectedPathComponent();
-        if (node == null || !(node.getUserObject() instanceof ExportEntry entry)) {
+        if (!(objectTree.getLastSelectedPathComponent() instanceof ExportEntry entry)) {
             debugConsole.log("⚠️ Selecione um objeto válido na árvore para inspecionar.");
             return;
         }
@@ -174,196 +174,53 @@ public class ExplorerPanel extends JPanel {
         inspector.setSize(1000, 650);
         inspector.setLocationRelativeTo(this);
         inspector.setLayout(new BorderLayout());
-        
-        JTextArea hexArea = createStyledTextArea(new Color(15, 15, 15), Color.CYAN);
-        hexArea.setFont(new Font("JetBrains Mono", Font.PLAIN, 12));
-        hexArea.setEditable(false); // Importante para não bagunçar o dump
 
+        // Sessão própria no arquivo: leituras posicionais só das linhas visíveis,
+        // sem disputar o ponteiro do pacote com o decompiler
+        RandomAccess session = null;
         try {
-            // Lemos os bytes do Samurai Crow via motor de Raio-X
-            final byte[] rawData = currentPackage.readRawData(entry);
-            
-            hexArea.setText(convertToHexDump(rawData));
-            applyOpcodeHighlighting(hexArea, rawData, entry.getFullClassName());
-            hexArea.setCaretPosition(0);
+            session = currentPackage.getFile().openNewSession(true);
+            RandomAccess file = session;
+            int base = entry.getOffset();
+            int size = entry.getSize();
+            HexView.Source source = new HexView.Source() {
+                @Override
+                public int length() {
+                    return size;
+                }
 
-            hexArea.addMouseMotionListener(new java.awt.event.MouseMotionAdapter() {
                 @Override
-                public void mouseMoved(java.awt.event.MouseEvent e) {
-                    try {
-                        int pos = hexArea.viewToModel2D(e.getPoint());
-                        int line = hexArea.getLineOfOffset(pos);
-                        int col = pos - hexArea.getLineStartOffset(line);
-
-                        if (line >= 2 && col >= 10 && col <= 58) {
-                            int byteCol = (col - 10) / 3;
-                            int byteIndex = ((line - 2) * 16) + byteCol;
-
-                            if (byteIndex >= 0 && byteIndex < rawData.length) {
-                                int opcodeValue = rawData[byteIndex] & 0xFF;
-                                
-                                // BUSCA DINÂMICA NO SEU ENUM
-                                UnrealOpcode.Main op = UnrealOpcode.Main.fromInt(opcodeValue);
-                                String opName = (op != null) ? op.getName() : "UNKNOWN_TOKEN";
-                                
-                                hexArea.setToolTipText(String.format("Offset: 0x%X | Token: %s (0x%02X)", 
-                                                       byteIndex, opName, opcodeValue));
-                                return;
-                            }
-                        }
-                        hexArea.setToolTipText(null);
-                    } catch (Exception ex) {
-                        hexArea.setToolTipText(null);
-                    }
+                public void read(int offset, byte[] buf, int off, int len) throws IOException {
+                    file.setPosition(base + offset);
+                    file.readFully(buf, off, len);
                 }
-            });
+            };
 
-        } catch (Exception e) {
-            hexArea.setText("❌ Erro ao ler dados brutos: " + e.getMessage());
-            e.printStackTrace();
+            String fullClass = entry.getFullClassName();
+            HexView hexView = HexView.create(source, fullClass.equals("Core.Function") || fullClass.equals("Core.State"));
+            JLabel header = new JLabel(HexView.HEADER);
+            header.setFont(hexView.getFont());
+            header.setForeground(Color.CYAN);
+            header.setOpaque(true);
+            header.setBackground(new Color(15, 15, 15));
+
+            JScrollPane scroll = new JScrollPane(hexView);
+            scroll.setColumnHeaderView(header);
+            inspector.add(scroll, BorderLayout.CENTER);
+        } catch (IOException e) {
+            JTextArea errorArea = createStyledTextArea(new Color(15, 15, 15), Color.CYAN);
+            errorArea.setText("❌ Erro ao ler dados brutos: " + e.getMessage());
+            inspector.add(errorArea, BorderLayout.CENTER);
         }
-
-        inspector.add(new JScrollPane(hexArea), BorderLayout.CENTER);
         inspector.add(createHexLegendPanel(), BorderLayout.SOUTH);
 
-        inspector.setVisible(true);
-    }
-
-    /**
-     * Converte bytes para o formato clássico de HexDump (Offset | Hex | ASCII)
-     */
-    private String convertToHexDump(byte[] data) {
-        StringBuilder sb = new StringBuilder();
-        // Cabeçalho (Linha 0)
-        sb.append("OFFSET    00 01 02 03 04 05 06 07  08 09 0A 0B 0C 0D 0E 0F   ASCII\n");
-        // Separador (Linha 1)
-        sb.append("--------------------------------------------------------------------------\n");
-        
-        for (int i = 0; i < data.length; i += 16) {
-            // Offset: 8 chars + 2 espaços = 10
-            sb.append(String.format("%08X  ", i));
-            
-            for (int j = 0; j < 16; j++) {
-                if (i + j < data.length) {
-                    sb.append(String.format("%02X ", data[i + j]));
-                } else {
-                    sb.append("   ");
-                }
-                if (j == 7) sb.append(" "); // Espaço extra no meio
-            }
-            
-            sb.append(" "); // Espaço antes do ASCII
-            for (int j = 0; j < 16; j++) {
-                if (i + j < data.length) {
-                    int b = data[i + j] & 0xFF;
-                    sb.append((b >= 32 && b <= 126) ? (char) b : ".");
-                }
-            }
-            sb.append("\n");
-        }
-        return sb.toString();
-    }
-    
-    /**
-     * Analisa os bytes e define as cores baseadas no tipo de dado.
-     * @param data Os bytes brutos do objeto.
-     * @param fullClass A classe do objeto (ex: Core.Function).
-     */
-
-    private void markByteInHex(JTextArea area, int byteIndex, Color color) {
         try {
-            int line = byteIndex / 16;
-            int col = byteIndex % 16;
-            
-            // Pulamos as 2 linhas do cabeçalho
-            int headerLines = 2;
-            
-            // Descobre onde a linha real começa no JTextArea
-            int lineStart = area.getLineStartOffset(line + headerLines);
-            
-            // Cálculo da Coluna:
-            // 10 caracteres do offset ("00000000  ")
-            // Cada byte anterior ocupa 3 caracteres ("FF ")
-            int posInLine = 10 + (col * 3);
-            
-            // Se passar da metade da linha (col > 7), tem o espaço extra de respiro
-            if (col > 7) {
-                posInLine++;
-            }
-
-            int finalStart = lineStart + posInLine;
-            
-            // Pinta apenas os 2 caracteres do Hex (sem o espaço)
-            area.getHighlighter().addHighlight(finalStart, finalStart + 2, 
-                new DefaultHighlighter.DefaultHighlightPainter(color));
-                
-        } catch (Exception e) {
-            // Ignora se o byte estiver fora da área visível
-        }
-    }
-    
-    /**
-     * Traduz o token para uma cor específica de debug.
-     * Use as cores para identificar rapidamente a estrutura do código.
-     */
-    private Color getColorForOpcode(int opcodeValue) {
-        // Busca o objeto do seu Enum pelo valor numérico
-        UnrealOpcode.Main op = UnrealOpcode.Main.fromInt(opcodeValue);
-        if (op == null) return null;
-
-        return switch (op) {
-            // Fluxo e Jumps (Amarelo)
-            case JUMP, JUMP_IF_NOT, SWITCH, CASE, GOTO_LABEL -> new Color(251, 191, 36, 120);
-            
-            // Chamadas de Funções (Verde)
-            case FINAL_FUNCTION, VIRTUAL_FUNCTION, GLOBAL_FUNCTION -> new Color(52, 211, 153, 120);
-            
-            // Retorno e Parada (Vermelho)
-            case RETURN, STOP -> new Color(239, 68, 68, 120);
-            
-            // Variáveis e Contexto (Roxo)
-            case LOCAL_VARIABLE, INSTANCE_VARIABLE, DEFAULT_VARIABLE, CLASS_CONTEXT, CONTEXT -> new Color(99, 102, 241, 120);
-            
-            // Estruturas (Violeta)
-            case STRUCT_MEMBER, STRUCT_CONST -> new Color(167, 139, 250, 120);
-            
-            // Atribuição (Ciano)
-            case LET, LET_BOOL -> new Color(34, 211, 238, 120);
-            
-            default -> null; 
-        };
-    }
-    
-    private void applyOpcodeHighlighting(JTextArea area, byte[] data, String fullClass) {
-        if (!fullClass.equals("Core.Function") && !fullClass.equals("Core.State")) return;
-
-        // Começamos o scan. 
-        // Em funções L2, os bytes iniciais são flags. O bytecode real 
-        // costuma começar após o ScriptSize (4 bytes).
-        int startOffset = 0; 
-        
-        for (int i = startOffset; i < data.length; i++) {
-            int opcode = data[i] & 0xFF;
-            Color c = getColorForOpcode(opcode);
-            
-            if (c != null) {
+            inspector.setVisible(true);
+        } finally {
+            if (session != null) {
                 try {
-                    markByteInHex(area, i, c);
-                    
-                    // Lógica de pulo: Se for Native (0x1C), os próximos 2 bytes são o ID
-                    if (opcode == 0x1C) {
-                        markByteInHex(area, i + 1, c);
-                        markByteInHex(area, i + 2, c);
-                        i += 2;
-                    }
-                    // Se for Jump (0x06), os próximos 2 bytes são o endereço
-                    else if (opcode == 0x06 || opcode == 0x07) {
-                        markByteInHex(area, i + 1, c);
-                        markByteInHex(area, i + 2, c);
-                        i += 2;
-                    }
-                } catch (Exception e) {
-                    // Silencioso para não travar a visualização
+                    session.close();
+                } catch (Exception ignore) {
                 }
             }
         }
@@ -473,49 +330,25 @@ public class ExplorerPanel extends JPanel {
             Color.LIGHT_GRAY));
 
         // --- PROTEÇÃO PARA ARQUIVOS DAT (currentPackage == null) ---
-        DefaultMutableTreeNode root;
+        TreeModel model;
         if (currentPackage != null) {
-            /* Context: English comments as requested */
-            // Initialize root with the Unreal Package name
-            root = new DefaultMutableTreeNode(currentPackage.getPackageName());
-            
-            // Build the first level of the tree from the Export Table
-            currentPackage.getExportTable().stream()
-                    .filter(e -> e.getObjectPackage() == null)
-                    .sorted((e1, e2) -> e1.getObjectName().getName().compareToIgnoreCase(e2.getObjectName().getName()))
-                    .forEach(e -> {
-                        DefaultMutableTreeNode node = new DefaultMutableTreeNode(e);
-                        node.add(new DefaultMutableTreeNode("Loading..."));
-                        root.add(node);
-                    });
+            // Children are computed on demand from a sorted index over the Export Table
+            model = new ExportTreeModel(currentPackage);
         } else {
             /* Context: English comments as requested */
             // Fallback for Data Files (.dat, .ini) that don't have an Unreal structure
-            root = new DefaultMutableTreeNode("Data / Logic Content");
+            model = new DefaultTreeModel(new DefaultMutableTreeNode("Data / Logic Content"));
         }
 
-        objectTree = new JTree(root);
+        objectTree = new JTree(model);
         objectTree.setBackground(new Color(50, 50, 50));
         objectTree.setForeground(Color.WHITE);
         objectTree.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         objectTree.setRowHeight(22);
+        // Fixed row height: lets the UI skip measuring every row of large packages
+        objectTree.setLargeModel(true);
         
         // Add the expansion listener (it already handles null currentPackage internally)
-        objectTree.addTreeWillExpandListener(new TreeWillExpandListener() {
-            @Override
-            public void treeWillExpand(TreeExpansionEvent event) {
-                DefaultMutableTreeNode node = (DefaultMutableTreeNode) event.getPath().getLastPathComponent();
-                if (node.getChildCount() == 1 && node.getChildAt(0).toString().equals("Loading...")) {
-                    node.removeAllChildren();
-                    if (node.getUserObject() instanceof ExportEntry entry) {
-                        buildClassHierarchy(node, entry);
-                    }
-                    ((DefaultTreeModel) objectTree.getModel()).nodeStructureChanged(node);
-                }
-            }
-            @Override public void treeWillCollapse(TreeExpansionEvent event) {}
-        });
-
         objectTree.setCellRenderer(new ModernTreeCellRenderer());
         objectTree.addTreeSelectionListener(_ -> {
             try { handleSelection(); } catch (IOException ex) { showError("Selection Error", ex.getMessage()); }
@@ -540,7 +373,7 @@ public class ExplorerPanel extends JPanel {
             setBackgroundSelectionColor(ACCENT);
             setBorderSelectionColor(ACCENT);
             
-            Object userObject = ((DefaultMutableTreeNode) value).getUserObject();
+            Object userObject = value instanceof DefaultMutableTreeNode node ? node.getUserObject() : value;
             if (userObject instanceof ExportEntry entry) {
                 String className = entry.getFullClassName();
                 String icon = getIconForClass(className);
@@ -568,69 +401,6 @@ public class ExplorerPanel extends JPanel {
         }        
     }
     
-    private void buildClassHierarchy(DefaultMutableTreeNode parentNode, ExportEntry parentEntry) {
-        int parentIndex = parentEntry.getIndex() + 1;
-        
-        List<ExportEntry> children = currentPackage.getExportTable().stream()
-                .filter(e -> e.getObjectPackage() != null && 
-                            e.getObjectPackage().getIndex() + 1 == parentIndex)
-                .sorted((e1, e2) -> e1.getObjectName().getName()
-                        .compareToIgnoreCase(e2.getObjectName().getName()))
-                .collect(Collectors.toList());
-
-        // 1. Criamos um mapa para organizar as categorias dinamicamente
-        java.util.Map<String, DefaultMutableTreeNode> categoryNodes = new java.util.LinkedHashMap<>();
-
-        for (ExportEntry child : children) {
-            String fullClass = child.getFullClassName();
-            // Remove o "Core." para ficar mais limpo (ex: ObjectProperty)
-            String baseClass = fullClass.substring(fullClass.lastIndexOf('.') + 1);
-            
-            // 2. Definimos o nome da "Pasta Pai"
-            String folderName;
-            if (baseClass.endsWith("Property")) {
-                folderName = "📁 Properties";
-            } else {
-                folderName = "📁 " + baseClass + "s"; // Pluraliza: Function -> Functions, Enum -> Enums
-            }
-
-            // 3. Pegamos ou criamos o nó da categoria principal
-            DefaultMutableTreeNode mainCategory = categoryNodes.computeIfAbsent(folderName, DefaultMutableTreeNode::new);
-            
-            DefaultMutableTreeNode targetNode = mainCategory;
-
-            // 4. Se for Property, criamos uma subpasta com o tipo real (Ouro puro para o WindowHandle!)
-            if (baseClass.endsWith("Property")) {
-                targetNode = getOrCreateSubNode(mainCategory, baseClass);
-            }
-
-            DefaultMutableTreeNode childNode = new DefaultMutableTreeNode(child);
-            
-            // Se for algo que pode ter filhos (Struct, State, Function), adiciona o Loading...
-            if (baseClass.contains("Struct") || baseClass.contains("State") || baseClass.contains("Function")) {
-                childNode.add(new DefaultMutableTreeNode("Loading..."));
-            }
-
-            targetNode.add(childNode);
-        }
-
-        // 5. Adicionamos as pastas ao nó pai na ordem que elas foram criadas
-        categoryNodes.values().forEach(parentNode::add);
-    }
-
-    /**
-     * Método auxiliar para criar subpastas (ex: Properties -> ObjectProperty)
-     */
-    private DefaultMutableTreeNode getOrCreateSubNode(DefaultMutableTreeNode parent, String name) {
-        for (int i = 0; i < parent.getChildCount(); i++) {
-            DefaultMutableTreeNode node = (DefaultMutableTreeNode) parent.getChildAt(i);
-            if (node.getUserObject().equals(name)) return node;
-        }
-        DefaultMutableTreeNode newNode = new DefaultMutableTreeNode(name);
-        parent.add(newNode);
-        return newNode;
-    }
-
     private JTabbedPane createContentTabs() {
         JTabbedPane tabs = new JTabbedPane();
         tabs.setFont(new Font("Segoe UI", Font.BOLD, 11));
@@ -927,6 +697,9 @@ public class ExplorerPanel extends JPanel {
                         ? org.l2explorer.unreal.Environment.fromIni(finalL2ini)
                         : new org.l2explorer.unreal.SimpleEnv(newPackage);
 
+                    // Índice ordenado da Export Table, montado fora do EDT
+                    final ExportTreeModel treeModel = new ExportTreeModel(newPackage);
+
                     SwingUtilities.invokeLater(() -> {
                         currentPackage = newPackage;
                         systemDir = parentDir;
@@ -939,20 +712,15 @@ public class ExplorerPanel extends JPanel {
                         org.l2explorer.unreal.UnrealSerializerFactory.setBaseDir(parentDir);
 
                         // 4. Injeta a Factory no Decompiler
-                        decompiler = new org.l2explorer.utils.unreal.UnrealDecompiler(newPackage, factory); 
-
-                        // 5. Reconstrói a árvore de objetos
-                        DefaultMutableTreeNode root = new DefaultMutableTreeNode(newPackage.getPackageName());
-                        newPackage.getExportTable().stream()
-                            .filter(e -> e.getObjectPackage() == null)
-                            .sorted((e1, e2) -> e1.getObjectName().getName().compareToIgnoreCase(e2.getObjectName().getName()))
-                            .forEach(e -> {
-                                DefaultMutableTreeNode node = new DefaultMutableTreeNode(e);
-                                node.add(new DefaultMutableTreeNode("Loading..."));
-                                root.add(node);
-                            });
-                        
-                        objectTree.setModel(new DefaultTreeModel(root));
+                        if (decompiler != null) {
+                            decompiler.getSession().close();
+                        }
+                        decompiler = new org.l2explorer.utils.unreal.UnrealDecompiler(
+                                new org.l2explorer.utils.unreal.DecompilerSession(newPackage, env, factory));
+                        startSelectionPipeline(newPackage, finalL2ini);
+
+                        // 5. Troca o modelo da árvore de objetos
+                        objectTree.setModel(treeModel);
                         updatePackageInfo();
                         
                         debugConsole.log("✅ Pacote pronto: " + file.getName());
@@ -989,10 +757,105 @@ public class ExplorerPanel extends JPanel {
         }
     }
 
+    /**
+     * Result of processing one export on a {@link SelectionPipeline} worker.
+     */
+    private static final class SelectionResult {
+        final String source;
+        final BufferedImage image;
+
+        SelectionResult(String source, BufferedImage image) {
+            this.source = source;
+            this.image = image;
+        }
+    }
+
+    /**
+     * Despachante: encaminha para o método correto baseado na classe do objeto.
+     * Roda numa thread do pipeline, nunca no EDT.
+     */
+    private static SelectionResult processSelection(UnrealDecompiler decompiler, ExportEntry entry) throws IOException {
+        String fullClass = entry.getFullClassName();
+        String source;
+        BufferedImage image = null;
+
+        if (fullClass.equals("Core.Class") || fullClass.equals("Engine.FinalBlend") || fullClass.contains("Modifier")) {
+            // FinalBlend e Modificadores são lidos como classes (propriedades)
+            source = decompiler.decompileClassComplete(entry);
+        } else if (fullClass.equals("Engine.Shader")) {
+            // O Decompiler deve mostrar as camadas (Diffuse, Specular, etc)
+            source = decompiler.decompileClassComplete(entry);
+        } else if (fullClass.equals("Core.Function")) {
+            source = decompiler.decompileFunction(entry);
+        } else if (fullClass.equals("Core.Const")) {
+            source = decompiler.decompileConst(entry);
+        } else if (fullClass.equals("Core.Struct")) {
+            source = decompiler.decompileStruct(entry);
+        } else if (fullClass.equals("Core.Enum")) {
+            source = decompiler.decompileEnum(entry);
+        } else if (fullClass.endsWith("Property")) {
+            source = decompiler.getFullPropertyLine(entry);
+        } else if (fullClass.equals("Core.TextBuffer")) {
+            source = decompiler.decompileTextBuffer(entry);
+        } else if (fullClass.equals("Engine.Texture")) {
+            // Extrai a imagem principal (Mip 0)
+            image = decompiler.extractBufferedImage(entry);
+            source = image != null
+                    ? "// Texture: " + entry.getObjectName().getName() + " loaded.\n// [Click and Drag to Rotate]"
+                    : "// ❌ Error: Could not extract texture for 3D preview.";
+        } else {
+            source = "// Type: " + fullClass + "\n// Not yet supported\n";
+        }
+        return new SelectionResult(source, image);
+    }
+
+    private static String selectionLog(String fullClass) {
+        if (fullClass.equals("Core.Class") || fullClass.equals("Engine.FinalBlend") || fullClass.contains("Modifier")) {
+            return "🔄 Decompilando propriedades/classe...";
+        } else if (fullClass.equals("Engine.Shader")) {
+            return "🎨 Analisando Shader complexo...";
+        } else if (fullClass.equals("Core.Function")) {
+            return "⚡ Decompilando function...";
+        } else if (fullClass.equals("Core.Const")) {
+            return "🔒 Decompilando constante...";
+        } else if (fullClass.equals("Core.Struct")) {
+            return "📋 Decompilando struct...";
+        } else if (fullClass.equals("Core.Enum")) {
+            return "🔢 Decompilando enum...";
+        } else if (fullClass.endsWith("Property")) {
+            return "🔧 Decompilando propriedade...";
+        } else if (fullClass.equals("Core.TextBuffer")) {
+            return "📄 Lendo TextBuffer...";
+        } else if (fullClass.equals("Engine.Texture")) {
+            return "🖼️ Renderizando galeria de texturas...";
+        }
+        return null;
+    }
+
+    /**
+     * Creates the selection pipeline of a package, closing the previous one.
+     */
+    private void startSelectionPipeline(UnrealPackage up, File l2ini) {
+        if (selectionPipeline != null) {
+            selectionPipeline.close();
+        }
+        java.util.function.Function<UnrealPackage, org.l2explorer.unreal.Env> environment = pkg -> {
+            if (l2ini == null) {
+                return new org.l2explorer.unreal.SimpleEnv(pkg);
+            }
+            try {
+                return org.l2explorer.unreal.Environment.fromIni(l2ini);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        };
+        selectionPipeline = new SelectionPipeline<>(up, environment, ExplorerPanel::processSelection,
+                result -> result.image == null, SELECTION_THREADS);
+    }
+
     private void handleSelection() throws IOException {
-        DefaultMutableTreeNode node = (DefaultMutableTreeNode) objectTree.getLastSelectedPathComponent();
-        
-        if (node == null || !(node.getUserObject() instanceof ExportEntry entry)) {
+        TreePath path = objectTree.getSelectionPath();
+        if (path == null || !(path.getLastPathComponent() instanceof ExportEntry entry)) {
             return;
         }
 
@@ -1012,93 +875,69 @@ public class ExplorerPanel extends JPanel {
         info.append("╚══════════════════════════════════════╝\n");
         infoArea.setText(info.toString());
 
-        // Decompile - AQUI ESTÁ A MUDANÇA REAL
         codeArea.setText("// Decompiling " + entry.getObjectName().getName() + "...\n");
+        String message = selectionLog(entry.getFullClassName());
+        if (message != null) {
+            debugConsole.log(message);
+        }
 
-        try {
-            String source = null;
-            String fullClass = entry.getFullClassName();
-
-            // Despachante: Encaminha para o método correto baseado na classe do objeto
-            if (fullClass.equals("Core.Class") || fullClass.equals("Engine.FinalBlend") || fullClass.contains("Modifier")) {
-                debugConsole.log("🔄 Decompilando propriedades/classe...");
-                // FinalBlend e Modificadores são lidos como classes (propriedades)
-                source = decompiler.decompileClassComplete(entry);
-            } else if (fullClass.equals("Engine.Shader")) {
-                debugConsole.log("🎨 Analisando Shader complexo...");
-                
-                // 1. O Decompiler deve mostrar as camadas (Diffuse, Specular, etc)
-                source = decompiler.decompileClassComplete(entry);
-                
-            } else if (fullClass.equals("Core.Function")) {
-                debugConsole.log("⚡ Decompilando function...");
-                source = decompiler.decompileFunction(entry);
-                
-            } else if (fullClass.equals("Core.Const")) {
-                debugConsole.log("🔒 Decompilando constante...");
-                source = decompiler.decompileConst(entry);
-                
-            } else if (fullClass.equals("Core.Struct")) {
-                debugConsole.log("📋 Decompilando struct...");
-                source = decompiler.decompileStruct(entry);
-                
-            } else if (fullClass.equals("Core.Enum")) {
-                debugConsole.log("🔢 Decompilando enum...");
-                source = decompiler.decompileEnum(entry);
-                
-            } else if (fullClass.endsWith("Property")) {
-                debugConsole.log("🔧 Decompilando propriedade...");
-                source = decompiler.getFullPropertyLine(entry);
-                
-            } else if (fullClass.equals("Core.TextBuffer")) {
-                debugConsole.log("📄 Lendo TextBuffer...");
-                source = decompiler.decompileTextBuffer(entry);
-                
-            } else if (fullClass.equals("Engine.Texture")) {
-                debugConsole.log("🖼️ Renderizando galeria de texturas...");
-                source = renderTextureGallery(entry); // Método que criamos no ExplorerPanel
-                
-            } else {
-                source = "// Type: " + fullClass + "\n// Not yet supported\n";
+        // A decompilação roda no pipeline; só o resultado da última seleção volta ao EDT
+        selectionPipeline.select(entry, result -> {
+            if (result.image != null) {
+                showTexture(result.image);
             }
-            
-            codeArea.setText(source);
+            codeArea.setText(result.source);
             codeArea.setCaretPosition(0);
             debugConsole.log("✅ Processamento concluído!");
             setStatus("Ready", SUCCESS);
-            
-        } catch (Exception e) {
-        	
+        }, e -> {
+            codeArea.setText("// ❌ Decompile Error: " + e.getMessage() + "\n");
+            debugConsole.log("❌ Erro: " + e.getMessage());
+            setStatus("Error", new Color(239, 68, 68));
+        });
+        selectionPipeline.prefetch(neighbours(objectTree.getModel(), path));
+    }
+
+    /**
+     * Sibling exports around {@code node}, likely to be selected next.
+     * Textures are skipped: decoding them is expensive and their images are large.
+     */
+    private static List<ExportEntry> neighbours(TreeModel model, TreePath path) {
+        List<ExportEntry> result = new java.util.ArrayList<>();
+        if (path.getParentPath() == null) {
+            return result;
         }
-        }                
-                
-    private String renderTextureGallery(ExportEntry entry) {
-        // Extrai a imagem principal (Mip 0)
-        BufferedImage img = decompiler.extractBufferedImage(entry);
-
-        if (img != null) {
-            // Se o nosso painel for do tipo 3D, passa a imagem pra ele
-            if (mipMapGalleryPanel instanceof PreviewPanel3D p3d) {
-                p3d.setTexture(img);
+        Object parent = path.getParentPath().getLastPathComponent();
+        int index = model.getIndexOfChild(parent, path.getLastPathComponent());
+        for (int d = 1; d <= PREFETCH_DISTANCE; d++) {
+            for (int i : new int[]{index + d, index - d}) {
+                if (index >= 0 && i >= 0 && i < model.getChildCount(parent)
+                        && model.getChild(parent, i) instanceof ExportEntry sibling
+                        && !sibling.getFullClassName().equals("Engine.Texture")) {
+                    result.add(sibling);
+                }
             }
+        }
+        return result;
+    }
 
-            // Garante que a aba Preview (índice 2) seja selecionada automaticamente
-            Component parent = mipMapGalleryPanel.getParent();
-            while (parent != null && !(parent instanceof JTabbedPane)) {
-                parent = parent.getParent();
-            }
-            if (parent instanceof JTabbedPane tabs) {
-                tabs.setSelectedIndex(2);
-            }
-            
-            mipMapGalleryPanel.revalidate();
-            mipMapGalleryPanel.repaint();
-            
-            return "// Texture: " + entry.getObjectName().getName() + " loaded.\n" +
-                   "// [Click and Drag to Rotate]";
+    private void showTexture(BufferedImage img) {
+        // Se o nosso painel for do tipo 3D, passa a imagem pra ele
+        if (mipMapGalleryPanel instanceof PreviewPanel3D p3d) {
+            p3d.setTexture(img);
         }
-        
-        return "// ❌ Error: Could not extract texture for 3D preview.";
+
+        // Garante que a aba Preview (índice 2) seja selecionada automaticamente
+        Component parent = mipMapGalleryPanel.getParent();
+        while (parent != null && !(parent instanceof JTabbedPane)) {
+            parent = parent.getParent();
+        }
+        if (parent instanceof JTabbedPane tabs) {
+            tabs.setSelectedIndex(2);
+        }
+
+        mipMapGalleryPanel.revalidate();
+        mipMapGalleryPanel.repaint();
     }
 
     private void updatePackageInfo() {
@@ -0,0 +1,287 @@
+package org.l2explorer.app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.io.UnrealPackage.ExportEntry;
+
+/**
+ * Read-only {@link TreeModel} over the export table of a package.
+ * <p>Exports are sorted by name once and grouped by outer object into a
+ * compressed child index ({@code int} offsets into one {@code int} array), so
+ * opening a package costs a single sort and no node objects. Exports are their
+ * own tree nodes; the category folders shown under an export ("Functions",
+ * "Properties" split by property class, ...) are built only when that export is
+ * expanded and kept in a small LRU, so collapsed subtrees hold no memory.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class ExportTreeModel implements TreeModel {
+    private static final int FOLDER_CACHE_SIZE = 256;
+
+    private final List<ExportEntry> exports;
+    private final String root;
+    /** Children of export {@code i} are {@code children[childStart[i]..childStart[i + 1])}; slot {@code n} holds the roots. */
+    private final int[] childStart;
+    private final int[] children;
+    /** Inverse of {@link #children}: position of export {@code i} among its siblings, or -1 if it has no parent here. */
+    private final int[] position;
+    private final EventListenerList listeners = new EventListenerList();
+    private final Map<Integer, Folder[]> folders = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Folder[]> eldest) {
+            return size() > FOLDER_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Builds the sorted child index. Safe to call off the EDT.
+     */
+    public ExportTreeModel(UnrealPackage up) {
+        this.exports = up.getExportTable();
+        this.root = up.getPackageName();
+
+        int n = exports.size();
+        String[] names = new String[n];
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            ExportEntry entry = exports.get(i);
+            names[i] = entry.getObjectName().getName();
+            UnrealPackage.Entry<?> outer = entry.getObjectPackage();
+            parent[i] = outer == null ? n : outer instanceof ExportEntry e ? e.getIndex() : -1;
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(names[a], names[b]));
+
+        childStart = new int[n + 2];
+        for (int i = 0; i < n; i++) {
+            if (parent[i] >= 0) {
+                childStart[parent[i] + 1]++;
+            }
+        }
+        for (int i = 0; i <= n; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        children = new int[childStart[n + 1]];
+        position = new int[n];
+        int[] fill = Arrays.copyOf(childStart, n + 1);
+        for (int i : order) {
+            if (parent[i] >= 0) {
+                position[i] = fill[parent[i]] - childStart[parent[i]];
+                children[fill[parent[i]]++] = i;
+            } else {
+                position[i] = -1;
+            }
+        }
+    }
+
+    @Override
+    public Object getRoot() {
+        return root;
+    }
+
+    @Override
+    public Object getChild(Object parent, int index) {
+        if (parent instanceof ExportEntry entry) {
+            return foldersOf(entry.getIndex())[index];
+        }
+        if (parent instanceof Folder folder) {
+            return folder.children[index];
+        }
+        return exports.get(children[childStart[exports.size()] + index]);
+    }
+
+    @Override
+    public int getChildCount(Object parent) {
+        if (parent instanceof ExportEntry entry) {
+            return hasChildren(entry.getIndex()) ? foldersOf(entry.getIndex()).length : 0;
+        }
+        if (parent instanceof Folder folder) {
+            return folder.children.length;
+        }
+        int n = exports.size();
+        return childStart[n + 1] - childStart[n];
+    }
+
+    @Override
+    public boolean isLeaf(Object node) {
+        if (node instanceof ExportEntry entry) {
+            return !hasChildren(entry.getIndex());
+        }
+        return false;
+    }
+
+    @Override
+    public int getIndexOfChild(Object parent, Object child) {
+        if (parent == null || child == null) {
+            return -1;
+        }
+        if (child instanceof ExportEntry entry) {
+            int index = entry.getIndex();
+            if (index < 0 || index >= exports.size() || exports.get(index) != entry) {
+                return -1;
+            }
+            if (parent instanceof Folder folder) {
+                return folder.indexOf(entry, position);
+            }
+            int n = exports.size();
+            int slot = childStart[n] + position[index];
+            return parent == root && position[index] >= 0 && slot < childStart[n + 1] && children[slot] == index
+                    ? position[index] : -1;
+        }
+        // Category folders: a handful per export
+        for (int i = 0, count = getChildCount(parent); i < count; i++) {
+            if (child.equals(getChild(parent, i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hasChildren(int index) {
+        return childStart[index + 1] > childStart[index];
+    }
+
+    /**
+     * Groups the children of an export into category folders, in order of first
+     * appearance; properties get one sub folder per property class.
+     */
+    private Folder[] foldersOf(int owner) {
+        synchronized (folders) {
+            Folder[] cached = folders.get(owner);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Map<String, List<Object>> categories = new LinkedHashMap<>();
+        Map<String, List<Object>> propertyClasses = new LinkedHashMap<>();
+        for (int i = childStart[owner]; i < childStart[owner + 1]; i++) {
+            ExportEntry child = exports.get(children[i]);
+            String fullClass = child.getFullClassName();
+            // Remove o "Core." para ficar mais limpo (ex: ObjectProperty)
+            String baseClass = fullClass.substring(fullClass.lastIndexOf('.') + 1);
+            if (baseClass.endsWith("Property")) {
+                categories.computeIfAbsent(Folder.PROPERTIES, _ -> new ArrayList<>());
+                propertyClasses.computeIfAbsent(baseClass, _ -> new ArrayList<>()).add(child);
+            } else {
+                // Pluraliza: Function -> Functions, Enum -> Enums
+                categories.computeIfAbsent("📁 " + baseClass + "s", _ -> new ArrayList<>()).add(child);
+            }
+        }
+
+        Folder[] result = new Folder[categories.size()];
+        int f = 0;
+        for (Map.Entry<String, List<Object>> category : categories.entrySet()) {
+            if (category.getKey().equals(Folder.PROPERTIES)) {
+                Folder[] sub = new Folder[propertyClasses.size()];
+                int s = 0;
+                for (Map.Entry<String, List<Object>> propertyClass : propertyClasses.entrySet()) {
+                    sub[s++] = new Folder(owner, Folder.PROPERTIES, propertyClass.getKey(), propertyClass.getValue().toArray());
+                }
+                result[f++] = new Folder(owner, null, Folder.PROPERTIES, sub);
+            } else {
+                result[f++] = new Folder(owner, null, category.getKey(), category.getValue().toArray());
+            }
+        }
+
+        synchronized (folders) {
+            folders.put(owner, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void valueForPathChanged(TreePath path, Object newValue) {
+        // Read only
+    }
+
+    @Override
+    public void addTreeModelListener(TreeModelListener l) {
+        listeners.add(TreeModelListener.class, l);
+    }
+
+    @Override
+    public void removeTreeModelListener(TreeModelListener l) {
+        listeners.remove(TreeModelListener.class, l);
+    }
+
+    /**
+     * Category folder under an export. Equal by owner and path, so folders
+     * rebuilt after leaving the cache still match expanded and selected paths.
+     */
+    public static final class Folder {
+        static final String PROPERTIES = "📁 Properties";
+
+        private final int owner;
+        private final String parent;
+        private final String name;
+        private final Object[] children;
+
+        Folder(int owner, String parent, String name, Object[] children) {
+            this.owner = owner;
+            this.parent = parent;
+            this.name = name;
+            this.children = children;
+        }
+
+        /**
+         * Position of {@code entry} in this folder. Folder children keep the
+         * order of their siblings, so their sibling positions are ascending.
+         */
+        int indexOf(ExportEntry entry, int[] position) {
+            int target = position[entry.getIndex()];
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (!(children[mid] instanceof ExportEntry e)) {
+                    return -1;
+                }
+                int p = position[e.getIndex()];
+                if (p < target) {
+                    low = mid + 1;
+                } else if (p > target) {
+                    high = mid - 1;
+                } else {
+                    return e == entry ? mid : -1;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Folder that)) return false;
+            return owner == that.owner && Objects.equals(parent, that.parent) && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(owner, parent, name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
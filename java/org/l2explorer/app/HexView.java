@@ -0,0 +1,294 @@
+package org.l2explorer.app;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.swing.JComponent;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.ToolTipManager;
+
+import org.l2explorer.utils.enums.UnrealOpcode;
+
+/**
+ * Virtualized hex dump (Offset | Hex | ASCII).
+ * <p>Only the rows intersecting the clip are read from the {@link Source} and
+ * formatted, through fixed lookup tables into a reused {@code char[]}, so the
+ * cost of painting does not depend on the size of the export. Opcode colours
+ * are computed for the visible rows only, warming up the operand-skip state
+ * from the bytes just before the first visible row.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class HexView extends JComponent implements Scrollable {
+    private static final long serialVersionUID = 1L;
+
+    /** Positional byte source, e.g. an export read through its own package session. */
+    public interface Source {
+        int length();
+
+        /** Reads {@code len} bytes at {@code offset} into {@code buf}. */
+        void read(int offset, byte[] buf, int off, int len) throws IOException;
+    }
+
+    public static final String HEADER = "OFFSET    00 01 02 03 04 05 06 07  08 09 0A 0B 0C 0D 0E 0F   ASCII";
+
+    private static final int BYTES_PER_ROW = 16;
+    private static final int HEX_COLUMN = 10;
+    private static final int ASCII_COLUMN = HEX_COLUMN + BYTES_PER_ROW * 3 + 2;
+    private static final int ROW_CHARS = ASCII_COLUMN + BYTES_PER_ROW;
+    /** Bytes scanned before the first visible row to recover the operand-skip state. */
+    private static final int WARM_UP = 2 * BYTES_PER_ROW;
+
+    /** Highlights are placed at multiples of the digit width, so the font must be monospaced. */
+    private static final Font FONT = monospacedFont(12);
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final char[] ASCII = new char[256];
+    private static final Color[] OPCODE_COLORS = new Color[256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            ASCII[b] = b >= 32 && b <= 126 ? (char) b : '.';
+        }
+        for (int b = 0; b < 256; b++) {
+            UnrealOpcode.Main op = UnrealOpcode.Main.fromInt(b);
+            if (op != null) {
+                OPCODE_COLORS[b] = switch (op) {
+                    case JUMP, JUMP_IF_NOT, SWITCH, CASE, GOTO_LABEL -> new Color(251, 191, 36, 120);
+                    case FINAL_FUNCTION, VIRTUAL_FUNCTION, GLOBAL_FUNCTION -> new Color(52, 211, 153, 120);
+                    case RETURN, STOP -> new Color(239, 68, 68, 120);
+                    case LOCAL_VARIABLE, INSTANCE_VARIABLE, DEFAULT_VARIABLE, CLASS_CONTEXT, CONTEXT -> new Color(99, 102, 241, 120);
+                    case STRUCT_MEMBER, STRUCT_CONST -> new Color(167, 139, 250, 120);
+                    case LET, LET_BOOL -> new Color(34, 211, 238, 120);
+                    default -> null;
+                };
+            }
+        }
+    }
+
+    private final transient Source source;
+    private final boolean highlightOpcodes;
+    private final int rows;
+    private final char[] line = new char[ROW_CHARS];
+    private byte[] window = new byte[0];
+    private Color[] colors = new Color[0];
+    private String error;
+
+    private HexView(Source source, boolean highlightOpcodes) {
+        this.source = source;
+        this.highlightOpcodes = highlightOpcodes;
+        this.rows = (source.length() + BYTES_PER_ROW - 1) / BYTES_PER_ROW;
+    }
+
+    /**
+     * Creates a styled view with tooltips enabled.
+     *
+     * @param source           Bytes to display.
+     * @param highlightOpcodes Colour bytecode tokens (functions and states).
+     */
+    public static HexView create(Source source, boolean highlightOpcodes) {
+        HexView view = new HexView(source, highlightOpcodes);
+        view.setFont(FONT);
+        view.setOpaque(true);
+        view.setBackground(new Color(15, 15, 15));
+        view.setForeground(Color.CYAN);
+        ToolTipManager.sharedInstance().registerComponent(view);
+        return view;
+    }
+
+    private static Font monospacedFont(int size) {
+        Font font = new Font("JetBrains Mono", Font.PLAIN, size);
+        // A missing family silently maps to the proportional "Dialog" font
+        return font.getFamily().equals("JetBrains Mono") ? font : new Font(Font.MONOSPACED, Font.PLAIN, size);
+    }
+
+    private int rowHeight() {
+        return getFontMetrics(getFont()).getHeight();
+    }
+
+    private int charWidth() {
+        return getFontMetrics(getFont()).charWidth('0');
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(ROW_CHARS * charWidth() + 8, Math.max(1, rows) * rowHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        FontMetrics fm = g.getFontMetrics(getFont());
+        int rowHeight = fm.getHeight();
+        int charWidth = fm.charWidth('0');
+        int firstRow = Math.max(0, clip.y / rowHeight);
+        int lastRow = Math.min(rows, (clip.y + clip.height) / rowHeight + 1);
+        if (firstRow >= lastRow) {
+            return;
+        }
+
+        int start = firstRow * BYTES_PER_ROW;
+        int end = Math.min(source.length(), lastRow * BYTES_PER_ROW);
+        if (!load(start, end)) {
+            g.setColor(Color.RED);
+            g.drawString("Failed to read data: " + error, 4, clip.y + fm.getAscent());
+            return;
+        }
+
+        g.setFont(getFont());
+        for (int row = firstRow; row < lastRow; row++) {
+            int offset = row * BYTES_PER_ROW;
+            int count = Math.min(BYTES_PER_ROW, end - offset);
+            int y = row * rowHeight;
+
+            if (highlightOpcodes) {
+                for (int j = 0; j < count; j++) {
+                    Color c = colors[offset - start + j];
+                    if (c != null) {
+                        g.setColor(c);
+                        g.fillRect(hexColumn(j) * charWidth, y, 2 * charWidth, rowHeight);
+                    }
+                }
+            }
+
+            formatRow(offset, window, offset - start, count);
+            g.setColor(getForeground());
+            g.drawChars(line, 0, ROW_CHARS, 0, y + fm.getAscent());
+        }
+    }
+
+    private static int hexColumn(int byteInRow) {
+        return HEX_COLUMN + byteInRow * 3 + (byteInRow > 7 ? 1 : 0);
+    }
+
+    private void formatRow(int offset, byte[] data, int pos, int count) {
+        Arrays.fill(line, ' ');
+        for (int shift = 28, i = 0; i < 8; i++, shift -= 4) {
+            line[i] = HEX_DIGITS[(offset >>> shift) & 0xF];
+        }
+        for (int j = 0; j < count; j++) {
+            int b = data[pos + j] & 0xFF;
+            int c = hexColumn(j);
+            line[c] = HEX_DIGITS[b >>> 4];
+            line[c + 1] = HEX_DIGITS[b & 0xF];
+            line[ASCII_COLUMN + j] = ASCII[b];
+        }
+    }
+
+    /**
+     * Reads the visible range (plus the warm-up bytes) and colours it.
+     */
+    private boolean load(int start, int end) {
+        int from = highlightOpcodes ? Math.max(0, start - WARM_UP) : start;
+        int size = end - from;
+        byte[] buffer = new byte[size];
+        try {
+            source.read(from, buffer, 0, size);
+        } catch (IOException e) {
+            error = e.getMessage();
+            return false;
+        }
+        window = Arrays.copyOfRange(buffer, start - from, size);
+
+        if (highlightOpcodes) {
+            colors = new Color[end - start];
+            for (int i = 0; i < size; i++) {
+                int opcode = buffer[i] & 0xFF;
+                Color c = OPCODE_COLORS[opcode];
+                if (c == null) {
+                    continue;
+                }
+                mark(from + i, start, c);
+                // Native (0x1C) is followed by its 2 byte id, Jump/JumpIfNot by the target offset
+                if (opcode == 0x1C || opcode == 0x06 || opcode == 0x07) {
+                    mark(from + i + 1, start, c);
+                    mark(from + i + 2, start, c);
+                    i += 2;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void mark(int offset, int start, Color c) {
+        int i = offset - start;
+        if (i >= 0 && i < colors.length) {
+            colors[i] = c;
+        }
+    }
+
+    /**
+     * @return The byte offset under {@code (x, y)}, or -1 outside the hex columns.
+     */
+    public int offsetAt(int x, int y) {
+        int row = y / rowHeight();
+        int col = x / charWidth();
+        for (int j = 0; j < BYTES_PER_ROW; j++) {
+            int c = hexColumn(j);
+            if (col >= c && col < c + 2) {
+                int offset = row * BYTES_PER_ROW + j;
+                return offset < source.length() ? offset : -1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int offset = offsetAt(e.getX(), e.getY());
+        if (offset < 0) {
+            return null;
+        }
+        byte[] b = new byte[1];
+        try {
+            source.read(offset, b, 0, 1);
+        } catch (IOException ex) {
+            return null;
+        }
+        int opcodeValue = b[0] & 0xFF;
+        UnrealOpcode.Main op = UnrealOpcode.Main.fromInt(opcodeValue);
+        String opName = (op != null) ? op.getName() : "UNKNOWN_TOKEN";
+        return String.format("Offset: 0x%X | Token: %s (0x%02X)", offset, opName, opcodeValue);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(getPreferredSize().width, 40 * rowHeight());
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? rowHeight() : charWidth();
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        if (orientation == SwingConstants.VERTICAL) {
+            int rowHeight = rowHeight();
+            return Math.max(rowHeight, visibleRect.height / rowHeight * rowHeight - rowHeight);
+        }
+        return visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
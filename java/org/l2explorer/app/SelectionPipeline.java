@@ -0,0 +1,298 @@
+package org.l2explorer.app;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.io.UnrealPackage.ExportEntry;
+import org.l2explorer.unreal.Env;
+import org.l2explorer.utils.DaemonThreadFactory;
+import org.l2explorer.utils.unreal.DecompilerWorker;
+import org.l2explorer.utils.unreal.UnrealDecompiler;
+
+/**
+ * Runs the work behind a tree selection off the EDT.
+ * <ul>
+ * <li>Single-flight: an export already being processed (e.g. prefetched) is
+ * never submitted twice; a new selection attaches to the running job.</li>
+ * <li>Superseded selections are cancelled if they have not started yet, and
+ * results of finished ones are not delivered; only the latest selection
+ * reaches the UI, through {@link SwingUtilities#invokeLater(Runnable)}.</li>
+ * <li>Selections always run before prefetches of neighbouring nodes; finished
+ * results accepted by the cache predicate are kept in a small LRU so going
+ * back and forth is instant.</li>
+ * </ul>
+ * <p>Every worker thread owns a {@link DecompilerWorker}, since the decompiler
+ * and the package file pointer are not thread safe. Running jobs are never interrupted, which
+ * would close the worker's file channel: {@link #close()} drops queued jobs and
+ * waits for running ones before closing the sessions.</p>
+ *
+ * @param <R> Result of processing one export.
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class SelectionPipeline<R> implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(SelectionPipeline.class.getName());
+
+    private static final int CACHE_SIZE = 64;
+    private static final int PRIORITY_SELECTION = 0;
+    private static final int PRIORITY_PREFETCH = 1;
+    private static final long CLOSE_TIMEOUT = 30;
+
+    /** Work done for one export, on a worker thread. */
+    @FunctionalInterface
+    public interface Job<R> {
+        R run(UnrealDecompiler decompiler, ExportEntry entry) throws Exception;
+    }
+
+    private final UnrealPackage up;
+    private final Function<UnrealPackage, Env> environment;
+    private final Job<R> job;
+    private final Predicate<R> cacheable;
+    private final ThreadPoolExecutor executor;
+    private final ThreadLocal<DecompilerWorker> worker = new ThreadLocal<>();
+    private final List<DecompilerWorker> workers = new ArrayList<>();
+    /** Guarded by {@link #workers}. */
+    private boolean closed;
+
+    private final Map<Integer, Task> inflight = new HashMap<>();
+    private final Map<Integer, R> results = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, R> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Task selected;
+    private long generation;
+
+    /**
+     * @param up          Package the selected exports belong to.
+     * @param environment Creates the environment of each worker's package session.
+     * @param job         Work done for every selected or prefetched export.
+     * @param cacheable   Whether a result may be kept in the LRU (e.g. not when it holds a large image).
+     * @param threads     Number of worker threads.
+     */
+    public SelectionPipeline(UnrealPackage up, Function<UnrealPackage, Env> environment, Job<R> job,
+                             Predicate<R> cacheable, int threads) {
+        this.up = up;
+        this.environment = environment;
+        this.job = job;
+        this.cacheable = cacheable;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new DaemonThreadFactory("SelectionPipeline"));
+    }
+
+    /**
+     * Processes {@code entry} and delivers the result on the EDT, unless another
+     * selection is made first. Must be called on the EDT.
+     */
+    public void select(ExportEntry entry, Consumer<R> onResult, Consumer<Exception> onError) {
+        long gen;
+        R cached;
+        Task task;
+        synchronized (this) {
+            gen = ++generation;
+            if (selected != null && selected.index != entry.getIndex() && !selected.prefetched) {
+                if (executor.remove(selected)) {
+                    // Not started yet: drop it
+                    selected.cancel(false);
+                } else {
+                    // Running: let it finish into the cache, where a later selection finds it
+                    selected.onResult = null;
+                    selected.onError = null;
+                }
+            }
+            selected = null;
+
+            cached = results.get(entry.getIndex());
+            if (cached == null) {
+                task = inflight.get(entry.getIndex());
+                if (task != null && task.prefetched && executor.remove(task)) {
+                    // Queued as a prefetch: requeue ahead of the other prefetches
+                    inflight.remove(task.index, task);
+                    task = null;
+                }
+                if (task == null) {
+                    task = submit(entry, PRIORITY_SELECTION);
+                } else {
+                    task.prefetched = false;
+                }
+                selected = task;
+                task.onResult = onResult;
+                task.onError = onError;
+                task.generation = gen;
+            } else {
+                task = null;
+            }
+        }
+        if (task == null) {
+            onResult.accept(cached);
+        }
+    }
+
+    /**
+     * Queues neighbouring exports behind any selection; results go to the cache only.
+     */
+    public void prefetch(List<ExportEntry> entries) {
+        synchronized (this) {
+            for (ExportEntry entry : entries) {
+                if (!results.containsKey(entry.getIndex()) && !inflight.containsKey(entry.getIndex())) {
+                    submit(entry, PRIORITY_PREFETCH).prefetched = true;
+                }
+            }
+        }
+    }
+
+    private Task submit(ExportEntry entry, int priority) {
+        int index = entry.getIndex();
+        Task task = new Task(index, priority, sequence.incrementAndGet());
+        inflight.put(index, task);
+        executor.execute(task);
+        return task;
+    }
+
+    private R process(int index) throws Exception {
+        DecompilerWorker w = worker.get();
+        if (w == null) {
+            w = new DecompilerWorker(up, environment);
+            synchronized (workers) {
+                if (closed) {
+                    w.close();
+                    throw new CancellationException("Selection pipeline closed");
+                }
+                workers.add(w);
+            }
+            worker.set(w);
+        }
+        return job.run(w.getDecompiler(), w.getSession().getExportTable().get(index));
+    }
+
+    private void completed(Task task) {
+        R result = null;
+        Exception error = null;
+        if (!task.isCancelled()) {
+            try {
+                result = task.get();
+            } catch (ExecutionException e) {
+                error = e.getCause() instanceof Exception ex ? ex : e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        Consumer<R> onResult;
+        Consumer<Exception> onError;
+        long gen;
+        synchronized (this) {
+            inflight.remove(task.index, task);
+            if (result != null && cacheable.test(result)) {
+                results.put(task.index, result);
+            }
+            if (task != selected || task.isCancelled()) {
+                return;
+            }
+            selected = null;
+            onResult = task.onResult;
+            onError = task.onError;
+            gen = task.generation;
+        }
+
+        R value = result;
+        Exception failure = error;
+        SwingUtilities.invokeLater(() -> {
+            synchronized (this) {
+                if (gen != generation) {
+                    return;
+                }
+            }
+            if (failure != null) {
+                onError.accept(failure);
+            } else {
+                onResult.accept(value);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            // Nothing finishing from now on reaches the UI
+            generation++;
+            selected = null;
+        }
+        executor.shutdown();
+        List<Runnable> queued = new ArrayList<>();
+        executor.getQueue().drainTo(queued);
+        for (Runnable r : queued) {
+            if (r instanceof Future<?> f) {
+                f.cancel(false);
+            }
+        }
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                log.warning(() -> "Selection jobs still running after " + CLOSE_TIMEOUT + "s, closing their sessions");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (workers) {
+            closed = true;
+            for (DecompilerWorker w : workers) {
+                w.close();
+            }
+            workers.clear();
+        }
+    }
+
+    private final class Task extends FutureTask<R> implements Comparable<Task> {
+        final int index;
+        final int priority;
+        final long order;
+        // Guarded by SelectionPipeline.this
+        boolean prefetched;
+        Consumer<R> onResult;
+        Consumer<Exception> onError;
+        long generation;
+
+        Task(int index, int priority, long order) {
+            super(() -> process(index));
+            this.index = index;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        protected void done() {
+            completed(this);
+        }
+
+        @Override
+        public int compareTo(Task o) {
+            // Selections first, then newest first: the latest click is what the user waits for
+            int c = Integer.compare(priority, o.priority);
+            return c != 0 ? c : Long.compare(o.order, order);
+        }
+    }
+}
@@ -24,11 +24,25 @@ package org.l2explorer.io;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
-
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * File fully loaded into memory.
+ * <p>In write mode, writes go to the memory copy and the written ranges are
+ * recorded; they are merged and written to the file, one encrypted block per
+ * range, on {@link #flush()}, on {@link #close()} or once more than
+ * {@code BufferedRandomAccessFile.flushThreshold} bytes (default 8 MB) are
+ * pending. Other handles on the same file see the changes only after a flush.</p>
+ */
 public class BufferedRandomAccessFile implements RandomAccess {
+    private static final int FLUSH_THRESHOLD = Integer.getInteger("BufferedRandomAccessFile.flushThreshold", 8 << 20);
+
     private final RandomAccessMemory memory;
     private final RandomAccessFile file;
     private final boolean readOnly;
+    /** Ranges written since the last flush; null for read-only sessions. */
+    private final DirtyRanges dirty;
 
     public BufferedRandomAccessFile(File f, boolean readOnly, Charset charset) throws IOException {
         String name = f.getName().substring(0, f.getName().lastIndexOf('.'));
@@ -40,6 +54,7 @@ public class BufferedRandomAccessFile implements RandomAccess {
         file.setPosition(0);
 
         memory = new RandomAccessMemory(name, data, charset);
+        dirty = readOnly ? null : new DirtyRanges();
 
         if (readOnly) {
             file.close();
@@ -50,6 +65,7 @@ public class BufferedRandomAccessFile implements RandomAccess {
         this.memory = memory;
         this.file = file;
         this.readOnly = readOnly;
+        this.dirty = readOnly ? null : new DirtyRanges();
     }
 
     @Override
@@ -69,18 +85,38 @@ public class BufferedRandomAccessFile implements RandomAccess {
 
     @Override
     public void setPosition(int position) throws IOException {
-        if (!readOnly) {
-            file.setPosition(position);
-        }
         memory.setPosition(position);
     }
 
     @Override
     public void trimToPosition() throws IOException {
+        memory.trimToPosition();
         if (!readOnly) {
+            dirty.truncated = true;
+        }
+    }
+
+    /**
+     * Writes the pending ranges (and a truncation) to the file.
+     */
+    public void flush() throws IOException {
+        if (readOnly) {
+            return;
+        }
+        int length = memory.length();
+        for (Map.Entry<Integer, Integer> range : dirty.drain().entrySet()) {
+            int start = range.getKey();
+            int end = Math.min(range.getValue(), length);
+            if (start < end) {
+                file.setPosition(start);
+                memory.writeTo(file, start, end - start);
+            }
+        }
+        if (dirty.truncated) {
+            file.setPosition(length);
             file.trimToPosition();
+            dirty.truncated = false;
         }
-        memory.trimToPosition();
     }
 
     @Override
@@ -97,7 +133,11 @@ public class BufferedRandomAccessFile implements RandomAccess {
     @Override
     public void close() throws IOException {
         if (!readOnly) {
-            file.close();
+            try {
+                flush();
+            } finally {
+                file.close();
+            }
         }
         memory.close();
     }
@@ -114,18 +154,22 @@ public class BufferedRandomAccessFile implements RandomAccess {
 
     @Override
     public void writeByte(int b) throws IOException {
-        if (!readOnly) {
-            file.writeByte(b);
-        }
+        int position = memory.getPosition();
         memory.writeByte(b);
+        written(position, 1);
     }
 
     @Override
     public void writeBytes(byte[] b, int off, int len) throws IOException {
-        if (!readOnly) {
-            file.writeBytes(b, off, len);
-        }
+        int position = memory.getPosition();
         memory.writeBytes(b, off, len);
+        written(position, len);
+    }
+
+    private void written(int position, int len) throws IOException {
+        if (!readOnly && dirty.add(position, position + len) > FLUSH_THRESHOLD) {
+            flush();
+        }
     }
     
     @Override
@@ -134,4 +178,63 @@ public class BufferedRandomAccessFile implements RandomAccess {
         setPosition(pos + n);
         return n;
     }
+
+    /**
+     * Written ranges, merged. Sequential writes only extend the current run;
+     * the sorted map is touched when a write is not contiguous with it.
+     */
+    private static final class DirtyRanges {
+        private final TreeMap<Integer, Integer> ranges = new TreeMap<>();
+        private int runStart = -1;
+        private int runEnd;
+        private long pending;
+        boolean truncated;
+
+        /**
+         * @return Bytes pending, counting overlapping writes more than once.
+         */
+        long add(int start, int end) {
+            pending += end - start;
+            if (runStart >= 0 && start <= runEnd && end >= runStart) {
+                runStart = Math.min(runStart, start);
+                runEnd = Math.max(runEnd, end);
+            } else {
+                closeRun();
+                runStart = start;
+                runEnd = end;
+            }
+            return pending;
+        }
+
+        private void closeRun() {
+            if (runStart < 0) {
+                return;
+            }
+            int start = runStart;
+            int end = runEnd;
+            Map.Entry<Integer, Integer> before = ranges.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+            }
+            for (Map.Entry<Integer, Integer> next = ranges.ceilingEntry(start);
+                 next != null && next.getKey() <= end; next = ranges.ceilingEntry(start)) {
+                end = Math.max(end, next.getValue());
+                ranges.remove(next.getKey());
+            }
+            ranges.put(start, end);
+            runStart = -1;
+        }
+
+        /**
+         * @return The merged ranges (start to end); the set is left empty.
+         */
+        TreeMap<Integer, Integer> drain() {
+            closeRun();
+            TreeMap<Integer, Integer> result = new TreeMap<>(ranges);
+            ranges.clear();
+            pending = 0;
+            return result;
+        }
+    }
 }
@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.io;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.l2explorer.utils.AtomicFiles;
+import org.l2explorer.utils.crypt.CryptoException;
+import org.l2explorer.utils.crypt.L2Crypt;
+
+/**
+ * Read-only {@link RandomAccess} over packages that cannot be decrypted in place.
+ * <p>{@link RandomAccessFile} only handles the position independent XOR versions
+ * (111/121). Blowfish (21x), RSA (41x), 120 and LameCrypt wrapped files are
+ * decrypted once with {@link L2Crypt#decrypt(InputStream, String)} and accessed
+ * through the decrypted image.</p>
+ * <p>Images are stored in a persistent cache directory keyed by the SHA-1 of the
+ * encrypted file and memory mapped, so reopening a package skips decryption and
+ * only touched pages are loaded. A small stamp per path records the size and
+ * modification time the hash was computed for, so an unchanged file is only
+ * hashed once. The cache location is set with the
+ * {@code L2unreal.decryptedCache} system property; an empty value keeps
+ * images on the heap instead. Least recently used images are removed once the
+ * directory grows past {@code L2unreal.decryptedCacheSize} megabytes.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class DecryptedRandomAccess implements RandomAccess {
+    private static final Logger log = Logger.getLogger(DecryptedRandomAccess.class.getName());
+
+    /** Bumped when the image layout changes, invalidating older cache entries. */
+    private static final int CACHE_FORMAT = 1;
+    private static final String CACHE_DIR = System.getProperty("L2unreal.decryptedCache",
+            Paths.get(System.getProperty("java.io.tmpdir"), "l2explorer", "decrypted").toString());
+    private static final long CACHE_LIMIT = Long.getLong("L2unreal.decryptedCacheSize", 2048) << 20;
+    private static final String IMAGE_SUFFIX = "_" + CACHE_FORMAT + ".dec";
+    private static final String STAMP_SUFFIX = ".stamp";
+
+    private final String name;
+    private final String path;
+    private final int cryptVersion;
+    private final RandomAccessByteBuffer image;
+
+    public DecryptedRandomAccess(File f, Charset charset) throws IOException {
+        this(f, charset, readCryptVersion(f));
+    }
+
+    /**
+     * @param cryptVersion Header version already read by the caller.
+     */
+    DecryptedRandomAccess(File f, Charset charset, int cryptVersion) throws IOException {
+        String fileName = f.getName();
+        this.name = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+        this.path = f.getPath();
+        this.cryptVersion = cryptVersion;
+        this.image = new RandomAccessByteBuffer(loadImage(f).asReadOnlyBuffer(), name, charset, 0);
+    }
+
+    public DecryptedRandomAccess(String path, Charset charset) throws IOException {
+        this(new File(path), charset);
+    }
+
+    private DecryptedRandomAccess(DecryptedRandomAccess source) {
+        this.name = source.name;
+        this.path = source.path;
+        this.cryptVersion = source.cryptVersion;
+        this.image = (RandomAccessByteBuffer) source.image.openNewSession(true);
+    }
+
+    /**
+     * Checks whether a file is encrypted with a version that {@link RandomAccessFile} cannot read directly.
+     */
+    public static boolean isRequired(File f) throws IOException {
+        return isRequired(readCryptVersion(f));
+    }
+
+    static boolean isRequired(int version) {
+        return version != L2Crypt.NO_CRYPT && version != 111 && version != 121;
+    }
+
+    static int readCryptVersion(File f) throws IOException {
+        try (InputStream is = Files.newInputStream(f.toPath())) {
+            return L2Crypt.readHeader(is);
+        } catch (EOFException e) {
+            return L2Crypt.NO_CRYPT;
+        }
+    }
+
+    private static ByteBuffer loadImage(File f) throws IOException {
+        if (CACHE_DIR.isEmpty()) {
+            try (InputStream is = decrypt(f)) {
+                return ByteBuffer.wrap(is.readAllBytes());
+            }
+        }
+
+        Path cacheDir = Paths.get(CACHE_DIR);
+        Files.createDirectories(cacheDir);
+        Path source = f.toPath().toAbsolutePath();
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        Path stamp = cacheDir.resolve(digest(source.toString().getBytes(StandardCharsets.UTF_8)) + STAMP_SUFFIX);
+
+        Path cached = readStamp(stamp, cacheDir, size, modified);
+        if (cached == null) {
+            cached = cacheDir.resolve(hash(f) + IMAGE_SUFFIX);
+            if (!Files.isRegularFile(cached)) {
+                AtomicFiles.write(cached, ".tmp", temp -> {
+                    try (InputStream is = decrypt(f); OutputStream os = Files.newOutputStream(temp)) {
+                        is.transferTo(os);
+                    }
+                });
+                Path image = cached;
+                log.fine(() -> "Decrypted image cached: " + f.getName() + " -> " + image);
+                evict(cacheDir, cached);
+            }
+            writeStamp(stamp, size, modified, cached.getFileName().toString());
+        } else {
+            // Keeps recently opened images out of eviction
+            Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+
+        try (FileChannel channel = FileChannel.open(cached, READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static InputStream decrypt(File f) throws IOException {
+        InputStream input = new BufferedInputStream(Files.newInputStream(f.toPath()), 64 * 1024);
+        try {
+            return L2Crypt.decrypt(input, f.getName());
+        } catch (IOException | CryptoException e) {
+            input.close();
+            throw new IOException("Failed to decrypt " + f.getName(), e);
+        }
+    }
+
+    private static String hash(File f) throws IOException {
+        MessageDigest digest = sha1();
+        try (InputStream is = new DigestInputStream(Files.newInputStream(f.toPath()), digest)) {
+            byte[] buffer = new byte[64 * 1024];
+            while (is.read(buffer) >= 0) {
+                // digest is updated while reading
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String digest(byte[] data) throws IOException {
+        return HexFormat.of().formatHex(sha1().digest(data));
+    }
+
+    private static MessageDigest sha1() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Returns the image recorded for the file at {@code size}/{@code modified},
+     * or {@code null} when the file changed, was never stamped or its image was evicted.
+     */
+    private static Path readStamp(Path stamp, Path cacheDir, long size, long modified) {
+        String[] fields = stampFields(stamp);
+        if (fields == null || Long.parseLong(fields[0]) != size || Long.parseLong(fields[1]) != modified) {
+            return null;
+        }
+        Path image = cacheDir.resolve(fields[2]);
+        return Files.isRegularFile(image) ? image : null;
+    }
+
+    /**
+     * @return Size, modification time and image name, or {@code null} if the stamp is unreadable.
+     */
+    private static String[] stampFields(Path stamp) {
+        try {
+            String[] fields = Files.readString(stamp, StandardCharsets.UTF_8).trim().split(" ");
+            if (fields.length != 3 || !fields[2].endsWith(IMAGE_SUFFIX)) {
+                return null;
+            }
+            Long.parseLong(fields[0]);
+            Long.parseLong(fields[1]);
+            return fields;
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeStamp(Path stamp, long size, long modified, String image) {
+        try {
+            Files.writeString(stamp, size + " " + modified + " " + image, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.fine(() -> "Cannot write decrypted cache stamp " + stamp + ": " + e);
+        }
+    }
+
+    /**
+     * Deletes the least recently used images until the cache fits its size
+     * limit, then the stamps left without an image. Images mapped by another
+     * session may refuse deletion on some platforms and are skipped.
+     */
+    private static void evict(Path cacheDir, Path keep) {
+        List<Path> images = new ArrayList<>();
+        List<Path> stamps = new ArrayList<>();
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        long total = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(STAMP_SUFFIX)) {
+                    stamps.add(file);
+                } else if (fileName.endsWith(".dec")) {
+                    try {
+                        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                        attributes.put(file, attrs);
+                        total += attrs.size();
+                        if (!file.equals(keep)) {
+                            images.add(file);
+                        }
+                    } catch (IOException ignore) {
+                        // removed concurrently
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.fine(() -> "Cannot list decrypted cache " + cacheDir + ": " + e);
+            return;
+        }
+        if (total <= CACHE_LIMIT) {
+            return;
+        }
+
+        images.sort(Comparator.comparing(image -> attributes.get(image).lastModifiedTime()));
+        for (Path image : images) {
+            if (total <= CACHE_LIMIT) {
+                break;
+            }
+            try {
+                Files.delete(image);
+                total -= attributes.get(image).size();
+                log.fine(() -> "Decrypted image evicted: " + image);
+            } catch (IOException e) {
+                log.fine(() -> "Cannot evict " + image + ": " + e);
+            }
+        }
+        for (Path stamp : stamps) {
+            String[] fields = stampFields(stamp);
+            try {
+                if (fields == null || !Files.isRegularFile(cacheDir.resolve(fields[2]))) {
+                    Files.deleteIfExists(stamp);
+                }
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getCryptVersion() {
+        return cryptVersion;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Charset getCharset() {
+        return image.getCharset();
+    }
+
+    @Override
+    public int getPosition() {
+        return image.getPosition();
+    }
+
+    @Override
+    public void setPosition(int position) throws IOException {
+        image.setPosition(position);
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        return image.skipBytes(n);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return image.readUnsignedByte();
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        image.readFully(b, off, len);
+    }
+
+    @Override
+    public void writeByte(int b) throws IOException {
+        throw new IOException("Encrypted package " + name + " is read-only");
+    }
+
+    @Override
+    public void writeBytes(byte[] b, int off, int len) throws IOException {
+        throw new IOException("Encrypted package " + name + " is read-only");
+    }
+
+    @Override
+    public void trimToPosition() throws IOException {
+        throw new IOException("Encrypted package " + name + " is read-only");
+    }
+
+    @Override
+    public RandomAccess openNewSession(boolean readOnly) throws IOException {
+        if (!readOnly) {
+            throw new IOException("Encrypted package " + name + " is read-only");
+        }
+        return new DecryptedRandomAccess(this);
+    }
+
+    @Override
+    public void close() {
+        // The mapped image is released by the garbage collector
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Copy-on-write view of a package file.
+ * <p>Reads fall through to the original file; every write (export data, table
+ * rewrites, header patches) goes to an in-memory overlay of 4 KB pages, so an
+ * {@link UnrealPackage} opened on it can be edited freely without touching the
+ * file or keeping a full copy of it in memory. {@link #commit()} writes only
+ * the changed pages back to the file, {@link #writeTo(RandomAccess)} streams
+ * the merged content somewhere else, and closing without committing discards
+ * the edits (a dry run).</p>
+ * <p>{@link #checkpoint()} records the current state; {@link #undo()} and
+ * {@link #redo()} move between checkpoints in O(pages) time, since pages are
+ * shared between checkpoints and only copied when written again. After either
+ * call the package must re-read its tables ({@link UnrealPackage#reload()}).</p>
+ * <p>Sessions opened with {@link #openNewSession(boolean)} share the overlay
+ * and read the original file through their own handle.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class OverlayRandomAccess implements RandomAccess {
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private final Overlay overlay;
+    private final RandomAccess base;
+    private final boolean readOnly;
+    private final byte[] single = new byte[1];
+    private int position;
+
+    /**
+     * @param base       Original content, positioned reads only.
+     * @param baseLength Size of the original content.
+     */
+    public OverlayRandomAccess(RandomAccess base, int baseLength) {
+        this(new Overlay(baseLength), base, false);
+    }
+
+    private OverlayRandomAccess(Overlay overlay, RandomAccess base, boolean readOnly) {
+        this.overlay = overlay;
+        this.base = base;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Opens {@code file} (plain or XOR-encrypted) read-only behind an empty overlay.
+     */
+    public static OverlayRandomAccess open(File file, Charset charset) throws IOException {
+        RandomAccessFile base = new RandomAccessFile(file, true, charset);
+        return new OverlayRandomAccess(base, (int) (file.length() - base.startOffset));
+    }
+
+    @Override
+    public String getName() {
+        return base.getName();
+    }
+
+    @Override
+    public Charset getCharset() {
+        return base.getCharset();
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public void setPosition(int position) throws IOException {
+        if (position < 0) {
+            throw new IOException("Negative position " + position);
+        }
+        this.position = position;
+    }
+
+    /**
+     * @return Current size of the merged content.
+     */
+    public int length() {
+        synchronized (overlay) {
+            return overlay.length;
+        }
+    }
+
+    /**
+     * @return true if the overlay holds changes not yet committed.
+     */
+    public boolean isModified() {
+        synchronized (overlay) {
+            return !overlay.pages.isEmpty() || overlay.length != overlay.baseLength;
+        }
+    }
+
+    @Override
+    public void trimToPosition() throws IOException {
+        checkWritable();
+        synchronized (overlay) {
+            overlay.truncate(position);
+        }
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        int skipped = Math.max(0, Math.min(n, length() - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        readFully(single, 0, 1);
+        return single[0] & 0xff;
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        synchronized (overlay) {
+            if (position + len > overlay.length) {
+                throw new EOFException();
+            }
+            int pos = position;
+            int end = pos + len;
+            while (pos < end) {
+                int page = pos >>> PAGE_SHIFT;
+                int inPage = pos & (PAGE_SIZE - 1);
+                int count = Math.min(end - pos, PAGE_SIZE - inPage);
+                byte[] data = overlay.pages.get(page);
+                if (data != null) {
+                    System.arraycopy(data, inPage, b, off, count);
+                } else {
+                    overlay.readBase(base, pos, b, off, count);
+                }
+                pos += count;
+                off += count;
+            }
+            position = end;
+        }
+    }
+
+    @Override
+    public void writeByte(int b) throws IOException {
+        single[0] = (byte) b;
+        writeBytes(single, 0, 1);
+    }
+
+    @Override
+    public void writeBytes(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkWritable();
+        synchronized (overlay) {
+            overlay.redo.clear();
+            int pos = position;
+            int end = pos + len;
+            while (pos < end) {
+                int inPage = pos & (PAGE_SIZE - 1);
+                int count = Math.min(end - pos, PAGE_SIZE - inPage);
+                System.arraycopy(b, off, overlay.writablePage(base, pos >>> PAGE_SHIFT), inPage, count);
+                pos += count;
+                off += count;
+            }
+            overlay.length = Math.max(overlay.length, end);
+            position = end;
+        }
+    }
+
+    private void checkWritable() throws IOException {
+        if (readOnly) {
+            throw new IOException(getName() + ": read-only session");
+        }
+    }
+
+    /**
+     * Records the current content as an undo point.
+     */
+    public void checkpoint() {
+        synchronized (overlay) {
+            overlay.undo.push(overlay.snapshot());
+            overlay.redo.clear();
+            overlay.owned.clear();
+        }
+    }
+
+    /**
+     * Restores the content of the last checkpoint.
+     *
+     * @return false if there is nothing to undo.
+     */
+    public boolean undo() {
+        synchronized (overlay) {
+            if (overlay.undo.isEmpty()) {
+                return false;
+            }
+            overlay.redo.push(overlay.snapshot());
+            overlay.restore(overlay.undo.pop());
+            return true;
+        }
+    }
+
+    /**
+     * Reapplies the content undone last.
+     *
+     * @return false if there is nothing to redo.
+     */
+    public boolean redo() {
+        synchronized (overlay) {
+            if (overlay.redo.isEmpty()) {
+                return false;
+            }
+            overlay.undo.push(overlay.snapshot());
+            overlay.restore(overlay.redo.pop());
+            return true;
+        }
+    }
+
+    /**
+     * Writes the changed pages into the original file, truncated where the
+     * overlay was truncated and zero-filled where it grew without writes; the
+     * overlay then starts empty, without undo history.
+     */
+    public void commit() throws IOException {
+        checkWritable();
+        synchronized (overlay) {
+            try (RandomAccess out = base.openNewSession(false)) {
+                // Original bytes past baseLimit were truncated away: drop them on disk too
+                int limit = Math.min(overlay.baseLimit, overlay.length);
+                out.setPosition(limit);
+                out.trimToPosition();
+                for (Map.Entry<Integer, byte[]> page : new TreeMap<>(overlay.pages).entrySet()) {
+                    int start = page.getKey() << PAGE_SHIFT;
+                    if (start >= limit) {
+                        break;
+                    }
+                    out.setPosition(start);
+                    out.writeBytes(page.getValue(), 0, Math.min(PAGE_SIZE, limit - start));
+                }
+                // Beyond it, pages or explicit zeros (a bare extension would not be zero in an encrypted file)
+                byte[] zeros = null;
+                for (int pos = limit; pos < overlay.length; ) {
+                    int inPage = pos & (PAGE_SIZE - 1);
+                    int count = Math.min(PAGE_SIZE - inPage, overlay.length - pos);
+                    byte[] data = overlay.pages.get(pos >>> PAGE_SHIFT);
+                    if (data == null) {
+                        if (zeros == null) {
+                            zeros = new byte[PAGE_SIZE];
+                        }
+                        data = zeros;
+                    }
+                    out.setPosition(pos);
+                    out.writeBytes(data, inPage, count);
+                    pos += count;
+                }
+            }
+            overlay.pages.clear();
+            overlay.owned.clear();
+            overlay.undo.clear();
+            overlay.redo.clear();
+            overlay.baseLength = overlay.length;
+            overlay.baseLimit = overlay.length;
+        }
+    }
+
+    /**
+     * Streams the merged content to {@code out} from its current position.
+     */
+    public void writeTo(RandomAccess out) throws IOException {
+        byte[] buffer = new byte[16 * PAGE_SIZE];
+        int saved = position;
+        try {
+            int length = length();
+            for (int pos = 0; pos < length; pos += buffer.length) {
+                int count = Math.min(buffer.length, length - pos);
+                position = pos;
+                readFully(buffer, 0, count);
+                out.writeBytes(buffer, 0, count);
+            }
+        } finally {
+            position = saved;
+        }
+    }
+
+    @Override
+    public OverlayRandomAccess openNewSession(boolean readOnly) throws IOException {
+        return new OverlayRandomAccess(overlay, base.openNewSession(true), readOnly);
+    }
+
+    /**
+     * Closes this session; uncommitted changes are discarded once every session is closed.
+     */
+    @Override
+    public void close() throws IOException {
+        base.close();
+    }
+
+    /**
+     * State shared by all sessions of one overlay.
+     */
+    private static final class Overlay {
+        final Map<Integer, byte[]> pages = new HashMap<>();
+        /** Pages written since the last checkpoint, which may be modified in place. */
+        final Set<byte[]> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Snapshot> undo = new ArrayDeque<>();
+        final Deque<Snapshot> redo = new ArrayDeque<>();
+        int baseLength;
+        /** Original bytes at or after this offset were truncated away and read as zero. */
+        int baseLimit;
+        int length;
+
+        Overlay(int baseLength) {
+            this.baseLength = baseLength;
+            this.baseLimit = baseLength;
+            this.length = baseLength;
+        }
+
+        void readBase(RandomAccess base, int pos, byte[] b, int off, int count) throws IOException {
+            int fromBase = Math.max(0, Math.min(count, baseLimit - pos));
+            if (fromBase > 0) {
+                base.setPosition(pos);
+                base.readFully(b, off, fromBase);
+            }
+            Arrays.fill(b, off + fromBase, off + count, (byte) 0);
+        }
+
+        byte[] writablePage(RandomAccess base, int page) throws IOException {
+            byte[] data = pages.get(page);
+            if (data != null && owned.contains(data)) {
+                return data;
+            }
+            if (data != null) {
+                data = data.clone();
+            } else {
+                data = new byte[PAGE_SIZE];
+                int start = page << PAGE_SHIFT;
+                readBase(base, start, data, 0, Math.max(0, Math.min(PAGE_SIZE, length - start)));
+            }
+            pages.put(page, data);
+            owned.add(data);
+            return data;
+        }
+
+        void truncate(int newLength) {
+            if (newLength < length) {
+                int lastPage = newLength >>> PAGE_SHIFT;
+                pages.keySet().removeIf(page -> page > lastPage);
+                byte[] data = pages.get(lastPage);
+                if (data != null) {
+                    if (!owned.contains(data)) {
+                        data = data.clone();
+                        pages.put(lastPage, data);
+                        owned.add(data);
+                    }
+                    Arrays.fill(data, newLength & (PAGE_SIZE - 1), PAGE_SIZE, (byte) 0);
+                }
+                baseLimit = Math.min(baseLimit, newLength);
+            }
+            length = newLength;
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(new HashMap<>(pages), length, baseLimit);
+        }
+
+        void restore(Snapshot snapshot) {
+            pages.clear();
+            pages.putAll(snapshot.pages);
+            owned.clear();
+            length = snapshot.length;
+            baseLimit = snapshot.baseLimit;
+        }
+    }
+
+    private static final class Snapshot {
+        final Map<Integer, byte[]> pages;
+        final int length;
+        final int baseLimit;
+
+        Snapshot(Map<Integer, byte[]> pages, int length, int baseLimit) {
+            this.pages = pages;
+            this.length = length;
+            this.baseLimit = baseLimit;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.l2explorer.io.UnrealPackage.ExportEntry;
+import org.l2explorer.utils.AtomicFiles;
+
+import static org.l2explorer.io.UnrealPackage.IMPORT_OFFSET_OFFSET;
+import static org.l2explorer.io.UnrealPackage.NAME_COUNT_OFFSET;
+
+/**
+ * Rewrites a package with its export data laid out contiguously.
+ * <p>Edits that grow an export leave its old bytes behind as dead space (see
+ * {@link ExportEntry#setObjectRawData(byte[])}); the compactor copies the
+ * header, writes the name table, then every export in the chosen {@link Order}
+ * without gaps, followed by the import and export tables with the new offsets.
+ * Export data is streamed with {@link FileChannel#transferTo} when source and
+ * target share the same XOR key (plain files, or the same name), and through a
+ * fixed buffer otherwise, so memory use does not depend on the package size.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class PackageCompactor {
+    private static final Logger log = Logger.getLogger(PackageCompactor.class.getName());
+
+    private static final int CRYPT_HEADER_SIZE = 28;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Order of the export data in the compacted file.
+     */
+    public enum Order {
+        /** Export table order. */
+        INDEX,
+        /** Every object followed by the objects it contains (depth first), as they are loaded together. */
+        LOCALITY
+    }
+
+    private PackageCompactor() {
+    }
+
+    /**
+     * Writes a compacted copy of {@code source} to {@code target} (replaced if present).
+     *
+     * @return Number of bytes saved.
+     */
+    public static long compact(File source, File target, Order order) throws IOException {
+        if (source.getCanonicalFile().equals(target.getCanonicalFile())) {
+            throw new IllegalArgumentException("Use compactInPlace to compact " + source);
+        }
+        Files.deleteIfExists(target.toPath());
+
+        try (RandomAccessFile in = new RandomAccessFile(source, true, UnrealPackage.getDefaultCharset());
+             UnrealPackage up = new UnrealPackage(in)) {
+            if (in.getCryptVersion() != 0) {
+                byte[] cryptHeader = new byte[CRYPT_HEADER_SIZE];
+                in.file.seek(0);
+                in.file.readFully(cryptHeader);
+                Files.write(target.toPath(), cryptHeader);
+            }
+            try (RandomAccessFile out = new RandomAccessFile(target, false, in.getCharset())) {
+                write(up, in, out, order);
+            }
+        }
+        return source.length() - target.length();
+    }
+
+    /**
+     * Compacts {@code file} through a copy with the same name (so an XOR key
+     * derived from the name stays the same), then replaces it.
+     *
+     * @return Number of bytes saved.
+     */
+    public static long compactInPlace(File file, Order order) throws IOException {
+        Path directory = Files.createTempDirectory(file.getAbsoluteFile().toPath().getParent(), ".compact");
+        Path copy = directory.resolve(file.getName());
+        try {
+            long saved = compact(file, copy.toFile(), order);
+            AtomicFiles.move(copy, file.toPath());
+            return saved;
+        } finally {
+            Files.deleteIfExists(copy);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static void write(UnrealPackage up, RandomAccessFile in, RandomAccessFile out, Order order) throws IOException {
+        // Header (magic, version, flags, GUID, generations); counts and offsets are patched at the end
+        byte[] header = new byte[up.headerEndOffset];
+        in.setPosition(0);
+        in.readFully(header);
+        out.setPosition(0);
+        out.writeBytes(header);
+
+        int nameTablePosition = out.getPosition();
+        UnrealPackage.writeNameTable(out, up.getNameTable());
+
+        List<ExportEntry> exports = up.getExportTable();
+        List<ExportEntry> relocated = new ArrayList<>(exports);
+        boolean raw = in.xorKey == out.xorKey;
+        byte[] buffer = raw ? null : new byte[COPY_BUFFER_SIZE];
+        for (int index : order(exports, order)) {
+            ExportEntry entry = exports.get(index);
+            if (entry.getSize() <= 0) {
+                continue;
+            }
+            relocated.set(index, entry.withOffset(out.getPosition()));
+            if (raw) {
+                transfer(in, entry.getOffset(), entry.getSize(), out);
+            } else {
+                copy(in, entry.getOffset(), entry.getSize(), out, buffer);
+            }
+        }
+
+        int importTablePosition = out.getPosition();
+        UnrealPackage.writeImportTable(out, up.getImportTable());
+        int exportTablePosition = out.getPosition();
+        UnrealPackage.writeExportTable(out, relocated);
+        out.trimToPosition();
+
+        ByteBuffer tables = ByteBuffer.allocate(IMPORT_OFFSET_OFFSET + 4 - NAME_COUNT_OFFSET).order(ByteOrder.LITTLE_ENDIAN);
+        tables.putInt(up.getNameTable().size());
+        tables.putInt(nameTablePosition);
+        tables.putInt(exports.size());
+        tables.putInt(exportTablePosition);
+        tables.putInt(up.getImportTable().size());
+        tables.putInt(importTablePosition);
+        out.setPosition(NAME_COUNT_OFFSET);
+        out.writeBytes(tables.array());
+        log.fine(() -> String.format("%s: %d exports, data %d..%d", up.getPackageName(), exports.size(),
+                up.headerEndOffset, importTablePosition));
+    }
+
+    /**
+     * Export indices in the order their data is written.
+     */
+    static int[] order(List<ExportEntry> exports, Order order) {
+        int n = exports.size();
+        int[] result = new int[n];
+        if (order == Order.INDEX) {
+            Arrays.setAll(result, i -> i);
+            return result;
+        }
+
+        // Children lists over outer references (exports only; imports and 0 are roots)
+        int[] childStart = new int[n + 2];
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            int outer = exports.get(i).objectPackage;
+            parent[i] = outer > 0 && outer <= n ? outer - 1 : n;
+            childStart[parent[i] + 1]++;
+        }
+        for (int i = 0; i <= n; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        int[] children = new int[n];
+        int[] fill = Arrays.copyOf(childStart, n + 1);
+        for (int i = 0; i < n; i++) {
+            children[fill[parent[i]]++] = i;
+        }
+
+        int count = 0;
+        boolean[] visited = new boolean[n];
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int r = childStart[n + 1] - 1; r >= childStart[n]; r--) {
+            stack.push(children[r]);
+        }
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            if (visited[node]) {
+                continue;
+            }
+            visited[node] = true;
+            result[count++] = node;
+            for (int c = childStart[node + 1] - 1; c >= childStart[node]; c--) {
+                stack.push(children[c]);
+            }
+        }
+        // Exports in an outer cycle (broken tables) keep index order
+        for (int i = 0; i < n && count < n; i++) {
+            if (!visited[i]) {
+                result[count++] = i;
+            }
+        }
+        return result;
+    }
+
+    private static void transfer(RandomAccessFile in, int offset, int size, RandomAccessFile out) throws IOException {
+        FileChannel source = in.file.getChannel();
+        FileChannel target = out.file.getChannel();
+        long position = (long) in.startOffset + offset;
+        long remaining = size;
+        while (remaining > 0) {
+            long transferred = source.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of " + in.getPath() + " at " + position);
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+
+    private static void copy(RandomAccessFile in, int offset, int size, RandomAccessFile out, byte[] buffer) throws IOException {
+        int end = offset + size;
+        for (int position = offset; position < end; ) {
+            int len = Math.min(buffer.length, end - position);
+            in.setPosition(position);
+            in.readFully(buffer, 0, len);
+            out.writeBytes(buffer, 0, len);
+            position += len;
+        }
+    }
+
+    /**
+     * Command line entry point.
+     * <p>Usage: {@code PackageCompactor <package>... [--locality]}</p>
+     */
+    public static void main(String[] args) throws IOException {
+        Order order = Arrays.asList(args).contains("--locality") ? Order.LOCALITY : Order.INDEX;
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                long saved = compactInPlace(new File(arg), order);
+                log.info(String.format("%s: %d bytes reclaimed", arg, saved));
+            }
+        }
+    }
+}
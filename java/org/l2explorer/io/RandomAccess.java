@@ -21,6 +21,7 @@
  */
 package org.l2explorer.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
@@ -36,6 +37,22 @@ public interface RandomAccess extends L2DataInput, L2DataOutput, AutoCloseable {
 
     void close() throws IOException;
 
+    /**
+     * Opens a package file, decrypting it up front when its header requires it.
+     *
+     * @see DecryptedRandomAccess
+     */
+    static RandomAccess open(File file, boolean readOnly, Charset charset) throws IOException {
+        int version = DecryptedRandomAccess.readCryptVersion(file);
+        if (DecryptedRandomAccess.isRequired(version)) {
+            if (!readOnly) {
+                throw new IOException("Encrypted package " + file.getName() + " can only be opened read-only");
+            }
+            return new DecryptedRandomAccess(file, charset, version);
+        }
+        return new RandomAccessFile(file, readOnly, charset);
+    }
+
     static RandomAccess randomAccess(ByteBuffer buffer, String name, Charset charset, int position) {
         return new RandomAccessByteBuffer(buffer, name, charset, position);
     }
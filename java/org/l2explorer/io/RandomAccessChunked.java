@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Growable in-memory {@link RandomAccess} made of fixed-size chunks.
+ * <p>Unlike {@link RandomAccessMemory}, growing never copies what was already
+ * written: a new chunk is appended, so building a large package in memory is
+ * linear in its size and not limited by the largest array that can be
+ * allocated. Chunks can be direct buffers to keep big images off the heap, and
+ * {@link #writeTo(FileChannel)} hands all of them to the channel in one
+ * gathering write. Positions are still {@code int}, as everywhere in
+ * {@link RandomAccess}.</p>
+ * <p>Sessions opened with {@link #openNewSession(boolean)} share the content
+ * and have their own position.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class RandomAccessChunked implements RandomAccess {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final String name;
+    private final Charset charset;
+    private final Chunks chunks;
+    private final boolean readOnly;
+    private final byte[] single = new byte[1];
+    private int position;
+
+    public RandomAccessChunked(String name, Charset charset) {
+        this(name, charset, DEFAULT_CHUNK_SIZE, false);
+    }
+
+    /**
+     * @param chunkSize Size of every chunk, a power of two.
+     * @param direct    Allocate chunks outside the heap.
+     */
+    public RandomAccessChunked(String name, Charset charset, int chunkSize, boolean direct) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("Chunk size must be a power of two: " + chunkSize);
+        }
+        this.name = name;
+        this.charset = charset;
+        this.chunks = new Chunks(chunkSize, direct);
+        this.readOnly = false;
+    }
+
+    private RandomAccessChunked(RandomAccessChunked session, boolean readOnly) {
+        this.name = session.name;
+        this.charset = session.charset;
+        this.chunks = session.chunks;
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public void setPosition(int position) throws IOException {
+        if (position < 0) {
+            throw new IOException("Negative position " + position);
+        }
+        this.position = position;
+    }
+
+    /**
+     * @return Size of the content written so far.
+     */
+    public int length() {
+        return chunks.length;
+    }
+
+    @Override
+    public void trimToPosition() throws IOException {
+        checkWritable();
+        chunks.truncate(position);
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int skipped = Math.max(0, Math.min(n, chunks.length - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        if (position >= chunks.length) {
+            throw new EOFException();
+        }
+        int b = chunks.list.get(position >>> chunks.shift).get(position & chunks.mask) & 0xff;
+        position++;
+        return b;
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (position + len > chunks.length) {
+            throw new EOFException();
+        }
+        while (len > 0) {
+            int inChunk = position & chunks.mask;
+            int count = Math.min(len, chunks.size - inChunk);
+            chunks.list.get(position >>> chunks.shift).get(inChunk, b, off, count);
+            position += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void writeByte(int b) throws IOException {
+        single[0] = (byte) b;
+        writeBytes(single, 0, 1);
+    }
+
+    @Override
+    public void writeBytes(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkWritable();
+        int end = position + len;
+        if (end < 0) {
+            throw new IOException("Content exceeds 2 GB");
+        }
+        chunks.ensureCapacity(end);
+        while (len > 0) {
+            int inChunk = position & chunks.mask;
+            int count = Math.min(len, chunks.size - inChunk);
+            chunks.list.get(position >>> chunks.shift).put(inChunk, b, off, count);
+            position += count;
+            off += count;
+            len -= count;
+        }
+        chunks.length = Math.max(chunks.length, end);
+    }
+
+    private void checkWritable() throws IOException {
+        if (readOnly) {
+            throw new IOException(name + ": read-only session");
+        }
+    }
+
+    /**
+     * Writes the whole content with one gathering write (repeated until done),
+     * starting at the channel's position.
+     */
+    public void writeTo(FileChannel channel) throws IOException {
+        ByteBuffer[] buffers = chunks.slices();
+        long remaining = chunks.length;
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    /**
+     * Writes the whole content chunk by chunk.
+     */
+    public void writeTo(L2DataOutput output) throws IOException {
+        byte[] buffer = null;
+        for (ByteBuffer slice : chunks.slices()) {
+            if (slice.hasArray()) {
+                output.writeBytes(slice.array(), slice.arrayOffset(), slice.remaining());
+            } else {
+                if (buffer == null) {
+                    buffer = new byte[chunks.size];
+                }
+                int count = slice.remaining();
+                slice.get(buffer, 0, count);
+                output.writeBytes(buffer, 0, count);
+            }
+        }
+    }
+
+    @Override
+    public RandomAccessChunked openNewSession(boolean readOnly) {
+        return new RandomAccessChunked(this, readOnly);
+    }
+
+    @Override
+    public void close() {
+        // Chunks are shared with other sessions and released with the last reference
+    }
+
+    /**
+     * Content shared by all sessions.
+     */
+    private static final class Chunks {
+        final List<ByteBuffer> list = new ArrayList<>();
+        final int size;
+        final int shift;
+        final int mask;
+        final boolean direct;
+        int length;
+
+        Chunks(int size, boolean direct) {
+            this.size = size;
+            this.shift = Integer.numberOfTrailingZeros(size);
+            this.mask = size - 1;
+            this.direct = direct;
+        }
+
+        void ensureCapacity(int capacity) {
+            while ((long) list.size() * size < capacity) {
+                list.add(direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size));
+            }
+        }
+
+        void truncate(int newLength) {
+            if (newLength >= length) {
+                length = newLength;
+                ensureCapacity(newLength);
+                return;
+            }
+            int keep = (newLength + size - 1) >>> shift;
+            while (list.size() > keep) {
+                list.remove(list.size() - 1);
+            }
+            // Bytes past the end read as zero if the content grows again
+            int inChunk = newLength & mask;
+            if (inChunk != 0) {
+                ByteBuffer last = list.get(keep - 1);
+                for (int i = inChunk; i < size; i++) {
+                    last.put(i, (byte) 0);
+                }
+            }
+            length = newLength;
+        }
+
+        /**
+         * @return Views of the chunks, limited to the content.
+         */
+        ByteBuffer[] slices() {
+            int count = (length + size - 1) >>> shift;
+            ByteBuffer[] result = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                int limit = i == count - 1 && (length & mask) != 0 ? length & mask : size;
+                result[i] = list.get(i).duplicate().position(0).limit(limit).slice();
+            }
+            return result;
+        }
+    }
+}
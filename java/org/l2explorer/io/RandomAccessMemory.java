@@ -153,4 +153,18 @@ public class RandomAccessMemory implements RandomAccess {
     public void writeTo(L2DataOutput output) throws IOException {
         output.writeBytes(buffer.array(), 0, buffer.limit());
     }
+
+    /**
+     * Writes {@code length} bytes starting at {@code offset}, without moving the position.
+     */
+    public void writeTo(L2DataOutput output, int offset, int length) throws IOException {
+        output.writeBytes(buffer.array(), offset, length);
+    }
+
+    /**
+     * @return Current size of the content (its limit).
+     */
+    public int length() {
+        return buffer.limit();
+    }
 }
\ No newline at end of file
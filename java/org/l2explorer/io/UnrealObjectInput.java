@@ -24,22 +24,6 @@ public class UnrealObjectInput<C extends Context> implements ObjectInput<C> {
         return context;
     }
        
-    public <T> T readObject(Class<T> clazz) throws IOException {
-        Serializer<T, C> serializer = (Serializer<T, C>) serializerFactory.forClass(clazz);
-        T instance = serializer.instantiate(this); // Lê o opcode e cria a classe certa
-        serializer.readObject(instance, this);     // Popula os dados
-
-        System.out.println(">>> readObject: " + clazz.getSimpleName());
-        System.out.println("    Serializer: " + serializer.getClass().getSimpleName());
-            
-        System.out.println("    Instance: " + instance.getClass().getSimpleName());
-           
-        serializer.readObject(instance, this);
-        System.out.println("    ✅ Serialized!");
-          
-        return instance;
-    }
-        
     public L2DataInput getDataInput() {
         return dataInput;
     }
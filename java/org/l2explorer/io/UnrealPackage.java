@@ -100,6 +100,9 @@ public class UnrealPackage implements AutoCloseable {
     public static final int GUID_OFFSET = 0x24;
     public static final int GENERATIONS_OFFSET = 0x34;
 
+    /** Chunk size of the buffers tables are serialized into before being written out. */
+    private static final int TABLE_CHUNK_SIZE = 64 * 1024;
+
     protected RandomAccess file;
 
     protected int version;
@@ -116,12 +119,17 @@ public class UnrealPackage implements AutoCloseable {
 
     protected int headerEndOffset;
 
+    /** Open {@link Transaction}s; while positive, table updates stay in memory. */
+    private int transactionDepth;
+    private boolean tablesDirty;
+    private boolean pendingCompaction;
+
     public UnrealPackage(String path, boolean readOnly) throws IOException {
-        this(new RandomAccessFile(path, readOnly, defaultCharset));
+        this(new File(path), readOnly);
     }
 
     public UnrealPackage(File file, boolean readOnly) throws IOException {
-        this(new RandomAccessFile(file, readOnly, defaultCharset));
+        this(RandomAccess.open(file, readOnly, defaultCharset));
     }
 
     public UnrealPackage(String name, byte[] data) throws IOException {
@@ -183,6 +191,17 @@ public class UnrealPackage implements AutoCloseable {
         headerEndOffset = file.getPosition();
     }
 
+    /**
+     * Re-reads the header and tables, e.g. after the underlying
+     * {@link OverlayRandomAccess} was rolled back.
+     */
+    public void reload() throws IOException {
+        if (isInTransaction()) {
+            throw new IllegalStateException("Cannot reload inside a transaction");
+        }
+        readHeader();
+    }
+
     public static UnrealPackage create(RandomAccess randomAccess, int version, int license) throws IOException {
         byte[] data = new byte[56];
 
@@ -205,6 +224,14 @@ public class UnrealPackage implements AutoCloseable {
         return up;
     }
 
+    /**
+     * Creates a package in memory; its content can be saved with
+     * {@link RandomAccessChunked#writeTo(java.nio.channels.FileChannel)} on {@link #getFile()}.
+     */
+    public static UnrealPackage create(String name, int version, int license) throws IOException {
+        return create(new RandomAccessChunked(name, defaultCharset), version, license);
+    }
+
     public RandomAccess getFile() {
         return file;
     }
@@ -414,6 +441,12 @@ public class UnrealPackage implements AutoCloseable {
 
         transformation.accept(nameTable);
 
+        if (isInTransaction()) {
+            names = indexNameTable(nameTable);
+            tablesDirty = true;
+            return;
+        }
+
         int newNameTablePos = getDataEndOffset().orElse(headerEndOffset);
         file.setPosition(newNameTablePos);
         writeNameTable(nameTable);
@@ -443,6 +476,12 @@ public class UnrealPackage implements AutoCloseable {
 
         transformation.accept(importTable);
 
+        if (isInTransaction()) {
+            imports = indexImportTable(importTable);
+            tablesDirty = true;
+            return;
+        }
+
         file.setPosition(getImportTableOffset());
         writeImportTable(importTable);
         int newExportTablePos = file.getPosition();
@@ -467,6 +506,12 @@ public class UnrealPackage implements AutoCloseable {
 
         transformation.accept(exportTable);
 
+        if (isInTransaction()) {
+            exports = indexExportTable(exportTable);
+            tablesDirty = true;
+            return;
+        }
+
         int nameTablePosition = file.getPosition();
         writeNameTable(getNameTable());
         int importTablePosition = file.getPosition();
@@ -487,18 +532,26 @@ public class UnrealPackage implements AutoCloseable {
     }
 
     protected void writeNameTable(List<NameEntry> nameTable) throws IOException {
-        try (RandomAccessMemory buffer = new RandomAccessMemory(null, file.getCharset())) {
+        writeNameTable(file, nameTable);
+    }
+
+    protected static void writeNameTable(RandomAccess output, List<NameEntry> nameTable) throws IOException {
+        try (RandomAccessChunked buffer = new RandomAccessChunked(null, output.getCharset(), TABLE_CHUNK_SIZE, false)) {
 			for (NameEntry entry : nameTable) {
 			    buffer.writeLine(entry.getName());
 			    buffer.writeInt(entry.getFlags());
 			}
 			buffer.trimToPosition();
-			buffer.writeTo(file);
+			buffer.writeTo(output);
 		}
     }
 
     protected void writeImportTable(List<ImportEntry> importTable) throws IOException {
-		try (RandomAccessMemory buffer = new RandomAccessMemory(null, file.getCharset())) {
+        writeImportTable(file, importTable);
+    }
+
+    protected static void writeImportTable(RandomAccess output, List<ImportEntry> importTable) throws IOException {
+		try (RandomAccessChunked buffer = new RandomAccessChunked(null, output.getCharset(), TABLE_CHUNK_SIZE, false)) {
 			for (ImportEntry entry : importTable) {
 			    buffer.writeCompactInt(entry.classPackage);
 			    buffer.writeCompactInt(entry.className);
@@ -506,12 +559,16 @@ public class UnrealPackage implements AutoCloseable {
 			    buffer.writeCompactInt(entry.objectName);
 			}
 			buffer.trimToPosition();
-			buffer.writeTo(file);
+			buffer.writeTo(output);
 		}
     }
 
     protected void writeExportTable(List<ExportEntry> exportTable) throws IOException {
-        try (RandomAccessMemory buffer = new RandomAccessMemory(null, file.getCharset())) {
+        writeExportTable(file, exportTable);
+    }
+
+    protected static void writeExportTable(RandomAccess output, List<ExportEntry> exportTable) throws IOException {
+        try (RandomAccessChunked buffer = new RandomAccessChunked(null, output.getCharset(), TABLE_CHUNK_SIZE, false)) {
 			for (ExportEntry entry : exportTable) {
 			    buffer.writeCompactInt(entry.objectClass);
 			    buffer.writeCompactInt(entry.objectSuperClass);
@@ -522,7 +579,7 @@ public class UnrealPackage implements AutoCloseable {
 			    buffer.writeCompactInt(entry.offset);
 			}
 			buffer.trimToPosition();
-			buffer.writeTo(file);
+			buffer.writeTo(output);
 		}
     }
 
@@ -559,6 +616,121 @@ public class UnrealPackage implements AutoCloseable {
                 .max();
     }
 
+    /**
+     * Starts deferring table writes: until the outermost transaction is
+     * committed, name, import and export table updates (and export size or
+     * offset changes from {@link ExportEntry#setObjectRawData(byte[])}) are
+     * applied to the in-memory tables only. Export data is still written in
+     * place as each edit is made, so the tables are always written on
+     * {@link Transaction#close()}, even after a failed edit.
+     * <p>Transactions nest; only the outermost one writes the tables.</p>
+     */
+    public Transaction beginTransaction() {
+        transactionDepth++;
+        return new Transaction();
+    }
+
+    /**
+     * Runs {@code edits} inside a transaction and commits it.
+     */
+    public void batch(UnrealTransformation<UnrealPackage> edits) throws IOException {
+        try (Transaction transaction = beginTransaction()) {
+            edits.accept(this);
+            transaction.commit();
+        }
+    }
+
+    public boolean isInTransaction() {
+        return transactionDepth > 0;
+    }
+
+    private List<NameEntry> indexNameTable(List<NameEntry> nameTable) {
+        List<NameEntry> tmp = new ArrayList<>(nameTable.size());
+        for (int i = 0; i < nameTable.size(); i++) {
+            NameEntry entry = nameTable.get(i);
+            tmp.add(entry.getUnrealPackage() == this && entry.getIndex() == i ? entry :
+                    new NameEntry(this, i, entry.getName(), entry.getFlags()));
+        }
+        return Collections.unmodifiableList(tmp);
+    }
+
+    private List<ImportEntry> indexImportTable(List<ImportEntry> importTable) {
+        List<ImportEntry> tmp = new ArrayList<>(importTable.size());
+        for (int i = 0; i < importTable.size(); i++) {
+            ImportEntry entry = importTable.get(i);
+            tmp.add(entry.getIndex() == i ? entry :
+                    new ImportEntry(this, i, entry.classPackage, entry.className, entry.objectPackage, entry.objectName));
+        }
+        return Collections.unmodifiableList(tmp);
+    }
+
+    private List<ExportEntry> indexExportTable(List<ExportEntry> exportTable) {
+        List<ExportEntry> tmp = new ArrayList<>(exportTable.size());
+        for (int i = 0; i < exportTable.size(); i++) {
+            ExportEntry entry = exportTable.get(i);
+            tmp.add(entry.getIndex() == i ? entry :
+                    new ExportEntry(this, i, entry.objectClass, entry.objectSuperClass, entry.objectPackage,
+                            entry.objectName, entry.objectFlags, entry.size, entry.offset));
+        }
+        return Collections.unmodifiableList(tmp);
+    }
+
+    /**
+     * Writes the three tables after the export data and patches the header
+     * counts and offsets with a single write.
+     */
+    private void writeTables(boolean compact) throws IOException {
+        if (compact) {
+            compactExportData();
+        } else if (!tablesDirty) {
+            return;
+        }
+        tablesDirty = false;
+
+        file.setPosition(getDataEndOffset().orElse(headerEndOffset));
+        int nameTablePosition = file.getPosition();
+        writeNameTable(names);
+        int importTablePosition = file.getPosition();
+        writeImportTable(imports);
+        int exportTablePosition = file.getPosition();
+        writeExportTable(exports);
+        file.trimToPosition();
+
+        ByteBuffer header = ByteBuffer.allocate(IMPORT_OFFSET_OFFSET + 4 - NAME_COUNT_OFFSET).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(names.size());
+        header.putInt(nameTablePosition);
+        header.putInt(exports.size());
+        header.putInt(exportTablePosition);
+        header.putInt(imports.size());
+        header.putInt(importTablePosition);
+        file.setPosition(NAME_COUNT_OFFSET);
+        file.writeBytes(header.array());
+    }
+
+    /**
+     * Moves export data down over the holes left by grown exports and by the
+     * previous tables, in offset order, one export in memory at a time.
+     */
+    private void compactExportData() throws IOException {
+        int cursor = getDataStartOffset().orElse(headerEndOffset);
+        cursor = Math.min(cursor, Math.min(getNameTableOffset(), Math.min(getImportTableOffset(), getExportTableOffset())));
+        cursor = Math.max(cursor, headerEndOffset);
+
+        List<ExportEntry> byOffset = new ArrayList<>(exports);
+        byOffset.removeIf(entry -> entry.size <= 0);
+        byOffset.sort(Comparator.comparingInt(ExportEntry::getOffset));
+        for (ExportEntry entry : byOffset) {
+            if (entry.offset > cursor) {
+                byte[] data = entry.getObjectRawData();
+                file.setPosition(cursor);
+                file.writeBytes(data);
+                entry.offset = cursor;
+                tablesDirty = true;
+            }
+            cursor = Math.max(cursor, entry.offset + entry.size);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         file.close();
@@ -830,8 +1002,8 @@ public class UnrealPackage implements AutoCloseable {
                     pckg,
                     nameReference(namePath[namePath.length - 1]),
                     oldEntry.objectFlags,
-                    oldEntry.offset,
-                    oldEntry.size
+                    oldEntry.size,
+                    oldEntry.offset
             ));
         });
     }
@@ -1138,6 +1310,15 @@ public class UnrealPackage implements AutoCloseable {
             setObjectRawData(data, true);
         }
 
+        /**
+         * Copy of this entry with its data at {@code newOffset}, for writers laying
+         * the data out in another file.
+         */
+        ExportEntry withOffset(int newOffset) {
+            return new ExportEntry(getUnrealPackage(), getIndex(), objectClass, objectSuperClass, objectPackage,
+                    objectName, objectFlags, size, newOffset);
+        }
+
         public void setObjectRawData(byte[] data, boolean writeExportTable) throws IOException {
             if (data.length <= getSize()) {
                 getUnrealPackage().file.setPosition(getOffset());
@@ -1145,7 +1326,9 @@ public class UnrealPackage implements AutoCloseable {
                 if (data.length != getSize()) {
                     size = data.length;
 
-                    if (writeExportTable) {
+                    if (writeExportTable && getUnrealPackage().isInTransaction()) {
+                        getUnrealPackage().tablesDirty = true;
+                    } else if (writeExportTable) {
                         getUnrealPackage().file.setPosition(getUnrealPackage().getExportTableOffset());
                         getUnrealPackage().writeExportTable(getUnrealPackage().getExportTable());
                     }
@@ -1169,6 +1352,11 @@ public class UnrealPackage implements AutoCloseable {
                 size = data.length;
                 getUnrealPackage().file.writeBytes(data);
 
+                if (getUnrealPackage().isInTransaction()) {
+                    getUnrealPackage().tablesDirty = true;
+                    return;
+                }
+
                 getUnrealPackage().file.setPosition(getUnrealPackage().getDataEndOffset().orElseThrow(IllegalStateException::new));
                 int nameTablePosition = getUnrealPackage().file.getPosition();
                 getUnrealPackage().writeNameTable(getUnrealPackage().getNameTable());
@@ -1492,6 +1680,44 @@ public class UnrealPackage implements AutoCloseable {
         }
     }
     
+    /**
+     * Batch of table edits, see {@link #beginTransaction()}.
+     */
+    public final class Transaction implements AutoCloseable {
+        private boolean closed;
+
+        private Transaction() {
+        }
+
+        public void commit() throws IOException {
+            commit(false);
+        }
+
+        /**
+         * @param compact Also close the holes between export data before the
+         *                tables are written (deferred to the outermost transaction).
+         */
+        public void commit(boolean compact) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("Transaction already closed");
+            }
+            closed = true;
+            pendingCompaction |= compact;
+            if (--transactionDepth == 0) {
+                boolean compactNow = pendingCompaction;
+                pendingCompaction = false;
+                writeTables(compactNow);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                commit(false);
+            }
+        }
+    }
+
     @FunctionalInterface
     public interface UnrealTransformation<T> {
         void accept(T target) throws IOException;
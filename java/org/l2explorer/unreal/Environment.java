@@ -5,8 +5,8 @@ import org.l2explorer.utils.crypt.rsa.L2Ver41x;
 import org.l2explorer.utils.crypt.rsa.L2Ver41xInputStream;
 
 import org.l2explorer.io.BufferedRandomAccessFile;
+import org.l2explorer.io.DecryptedRandomAccess;
 import org.l2explorer.io.RandomAccess;
-import org.l2explorer.io.RandomAccessFile;
 import org.l2explorer.io.UnrealPackage;
 
 import java.io.*;
@@ -177,10 +177,10 @@ public class Environment implements Env {
         int dot = name.lastIndexOf('.');
         String ext = (dot == -1) ? "" : name.substring(dot + 1);
 
-        if (BUFFERED_PACKAGES.contains(ext)) {
+        if (BUFFERED_PACKAGES.contains(ext) && !DecryptedRandomAccess.isRequired(f)) {
             return new BufferedRandomAccessFile(f, true, UnrealPackage.getDefaultCharset());
         }
-        return new RandomAccessFile(f, true, UnrealPackage.getDefaultCharset());
+        return RandomAccess.open(f, true, UnrealPackage.getDefaultCharset());
     }
 
     @Override
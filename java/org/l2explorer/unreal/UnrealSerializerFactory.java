@@ -26,6 +26,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -34,8 +35,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -60,11 +63,14 @@ import org.l2explorer.unreal.annotation.Bytecode;
 import org.l2explorer.unreal.annotation.NameRef;
 import org.l2explorer.unreal.annotation.ObjectRef;
 import org.l2explorer.unreal.bytecode.BytecodeContext;
+import org.l2explorer.unreal.bytecode.BytecodeDecoder;
 import org.l2explorer.unreal.bytecode.TokenSerializerFactory;
 import org.l2explorer.unreal.bytecode.token.Token;
 import org.l2explorer.unreal.core.Object;
 import org.l2explorer.unreal.core.Struct;
+import org.l2explorer.unreal.properties.DeferredProperties;
 import org.l2explorer.unreal.properties.PropertiesUtil;
+import org.l2explorer.unreal.properties.PropertyLayout;
 import org.l2explorer.unreal.util.InvalidationListener;
 import org.l2explorer.unreal.util.ObservableSet;
 import org.l2explorer.unreal.util.ObservableSetWrapper;
@@ -96,6 +102,12 @@ public class UnrealSerializerFactory extends ReflectionSerializerFactory<UnrealR
         }
     }
 
+    /**
+     * When set (default), class default properties are kept as a byte range and
+     * decoded on the first {@link Object#getProperties()} call.
+     */
+    private static final boolean LAZY_DEFAULT_PROPERTIES = Boolean.parseBoolean(System.getProperty("L2unreal.lazyDefaultProperties", "true"));
+
     public static final String unrealClassesPackage = "org.l2explorer.unreal";
 
     public static final Predicate<String> IS_STRUCT = c -> c.equalsIgnoreCase("Core.Struct") ||
@@ -106,6 +118,9 @@ public class UnrealSerializerFactory extends ReflectionSerializerFactory<UnrealR
     private final Map<String, Object> objects = new HashMap<>();
     private final Map<Integer, org.l2explorer.unreal.core.Function> nativeFunctions = new HashMap<>();
     private final ObservableSet<String> loaded = new ObservableSetWrapper<>(new HashSet<>());
+    private final Map<String, PropertyLayout> propertyLayouts = new ConcurrentHashMap<>();
+    /** Used by the loader thread only; keeps the reflective caches of Case/LabelTable across functions. */
+    private final SerializerFactory<BytecodeContext> tokenSerializerFactory = new TokenSerializerFactory();
 
     private final Env environment;
 
@@ -354,8 +369,7 @@ public class UnrealSerializerFactory extends ReflectionSerializerFactory<UnrealR
                 Objects.nonNull(getAnnotation.apply(Bytecode.class))) {
             read.add((object, dataInput) -> {
                 BytecodeContext context = new BytecodeContext(dataInput.getContext());
-                SerializerFactory<BytecodeContext> serializerFactory = new TokenSerializerFactory();
-                ObjectInput<BytecodeContext> input = ObjectInput.objectInput(dataInput, serializerFactory, context);
+                ObjectInput<BytecodeContext> input = ObjectInput.objectInput(dataInput, tokenSerializerFactory, context);
                 int size = 0;
 				try {
 					size = input.readInt();
@@ -363,19 +377,13 @@ public class UnrealSerializerFactory extends ReflectionSerializerFactory<UnrealR
 					// TODO Auto-generated catch block
 					e.printStackTrace();
 				}
-                int readSize = 0;
-                List<Token> tokens = new ArrayList<>();
-                while (readSize < size) {
-                    Token token = null;
-					try {
-						token = input.readObject(Token.class);
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-                    readSize += token.getSize(context);
-                    tokens.add(token);
+                Token[] tokens;
+                try {
+                    tokens = BytecodeDecoder.readScript(input, size);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-                setter.accept(object, () -> tokens.toArray(new Token[0]));
+                setter.accept(object, () -> tokens);
             });
             write.add((object, dataOutput) -> {
                 BytecodeContext context = new BytecodeContext(dataOutput.getContext());
@@ -401,8 +409,9 @@ public class UnrealSerializerFactory extends ReflectionSerializerFactory<UnrealR
     }
 
     private void load(Object obj, UnrealPackage.ExportEntry entry) throws IOException {
+        byte[] raw = entry.getObjectRawDataExternally();
         ObjectInput<UnrealRuntimeContext> input = new ObjectInputStream<UnrealRuntimeContext>(
-                new ByteArrayInputStream(entry.getObjectRawDataExternally()),
+                new ByteArrayInputStream(raw),
                 entry.getUnrealPackage().getFile().getCharset(),
                 entry.getOffset(),
                 this,
@@ -435,7 +444,12 @@ public class UnrealSerializerFactory extends ReflectionSerializerFactory<UnrealR
             }
         }
 
-        if (entry.getFullClassName().equalsIgnoreCase("Core.Class")) {
+        if (entry.getFullClassName().equalsIgnoreCase("Core.Class") && LAZY_DEFAULT_PROPERTIES) {
+            int start = input.getPosition() - entry.getOffset();
+            obj.setDeferredProperties(new DeferredProperties(this, entry, obj.getFullName(), raw, start, raw.length - start));
+            loaded.add(entry.getObjectFullName());
+            log.finest(() -> entry.getObjectFullName() + " properties deferred");
+        } else if (entry.getFullClassName().equalsIgnoreCase("Core.Class")) {
             Runnable loadProps = () -> {
                 obj.getProperties().addAll(PropertiesUtil.readProperties(input, obj.getFullName()));
                 loaded.add(entry.getObjectFullName());
@@ -496,6 +510,23 @@ public class UnrealSerializerFactory extends ReflectionSerializerFactory<UnrealR
         }
     }
 
+    /**
+     * Returns the compiled property layout of a struct or class, building it on first use.
+     * Layouts whose struct chain could not be fully resolved are rebuilt on the next call.
+     */
+    public PropertyLayout getPropertyLayout(String structName) {
+        String key = structName.toLowerCase(Locale.ROOT);
+        PropertyLayout layout = propertyLayouts.get(key);
+        if (layout == null) {
+            // Not computeIfAbsent: compiling may load structs that need other layouts
+            layout = PropertyLayout.compile(this, structName);
+            if (layout.isComplete()) {
+                propertyLayouts.putIfAbsent(key, layout);
+            }
+        }
+        return layout;
+    }
+
     /**
      * @return superClass or null
      * @throws IOException 
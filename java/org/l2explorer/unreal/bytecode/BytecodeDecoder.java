@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.bytecode;
+
+import org.l2explorer.io.ObjectInput;
+import org.l2explorer.io.Serializer;
+import org.l2explorer.io.SerializerException;
+import org.l2explorer.io.annotation.Compact;
+import org.l2explorer.io.annotation.ReadMethod;
+import org.l2explorer.io.annotation.UByte;
+import org.l2explorer.io.annotation.UShort;
+import org.l2explorer.unreal.UnrealException;
+import org.l2explorer.unreal.bytecode.token.ConversionTable;
+import org.l2explorer.unreal.bytecode.token.EndFunctionParams;
+import org.l2explorer.unreal.bytecode.token.NativeFunctionCall;
+import org.l2explorer.unreal.bytecode.token.Token;
+import org.l2explorer.unreal.bytecode.token.annotation.ConversionToken;
+import org.l2explorer.unreal.bytecode.token.annotation.FunctionParams;
+import org.l2explorer.utils.enums.UnrealOpcode;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Table-driven UnrealScript bytecode decoder.
+ * <p>Opcodes are dispatched through two 256-entry tables (main and conversion).
+ * Every token class is compiled once into a constructor handle plus a list of
+ * typed field readers, so decoding a token involves no reflection lookups and
+ * no boxing of primitive fields.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class BytecodeDecoder {
+    private static final Logger log = Logger.getLogger(BytecodeDecoder.class.getName());
+
+    private static final int EX_ExtendedNative = 0x60;
+    private static final int EX_FirstNative = 0x70;
+
+    private static final TokenType[] MAIN = new TokenType[256];
+    private static final TokenType[] CONVERSION = new TokenType[256];
+    private static final Map<Class<?>, TokenType> TYPES = new ConcurrentHashMap<>();
+
+    static {
+        for (UnrealOpcode.Main op : UnrealOpcode.Main.values()) {
+            register(op.getBytecode());
+        }
+    }
+
+    private BytecodeDecoder() {
+    }
+
+    private static void register(Class<? extends Token> clazz) {
+        if (clazz == null) {
+            return;
+        }
+        int opcode;
+        try {
+            Field field = clazz.getDeclaredField("OPCODE");
+            field.setAccessible(true);
+            opcode = field.getInt(null);
+        } catch (ReflectiveOperationException e) {
+            log.warning(() -> clazz.getSimpleName() + " has no OPCODE field");
+            return;
+        }
+        TokenType[] table = clazz.isAnnotationPresent(ConversionToken.class) ? CONVERSION : MAIN;
+        TokenType old = table[opcode & 0xff];
+        if (old != null && old.clazz != clazz) {
+            log.fine(() -> String.format("Opcode %02x: %s replaced by %s", opcode, old.clazz.getSimpleName(), clazz.getSimpleName()));
+        }
+        table[opcode & 0xff] = typeOf(clazz);
+    }
+
+    static TokenType typeOf(Class<?> clazz) {
+        return TYPES.computeIfAbsent(clazz, TokenType::new);
+    }
+
+    /**
+     * @return true if the class has a compiled field plan (false means the
+     * reflective serializer must read its fields)
+     */
+    static boolean isCompiled(Class<?> clazz) {
+        TokenType type = typeOf(clazz);
+        return type.fields != null || type.readMethod != null;
+    }
+
+    /**
+     * Reads one complete token (opcode and operands).
+     */
+    public static Token readToken(ObjectInput<BytecodeContext> input) throws IOException {
+        Token token = instantiate(input);
+        readFields(token, input);
+        return token;
+    }
+
+    /**
+     * Reads the tokens of a script whose in-memory size is {@code size}.
+     * Token sizes are recorded while decoding, so this is linear in the
+     * script length.
+     */
+    public static Token[] readScript(ObjectInput<BytecodeContext> input, int size) throws IOException {
+        BytecodeContext context = input.getContext();
+        List<Token> tokens = new ArrayList<>();
+        int readSize = 0;
+        while (readSize < size) {
+            Token token = readToken(input);
+            readSize += token.getSize(context);
+            tokens.add(token);
+        }
+        return tokens.toArray(new Token[0]);
+    }
+
+    /**
+     * Reads an opcode and creates the matching, still empty, token.
+     */
+    static Token instantiate(ObjectInput<BytecodeContext> input) throws IOException {
+        int opcode = input.readUnsignedByte();
+        BytecodeContext ctx = input.getContext();
+
+        TokenType type;
+        if (ctx.isConversion()) {
+            type = CONVERSION[opcode];
+            if (type == null) {
+                type = MAIN[opcode];
+                ctx.changeConversion();
+            }
+        } else {
+            type = MAIN[opcode];
+            // L2 Essence (protocol 542) uses conversion tokens directly,
+            // without the ConversionTable (0x39) wrapper
+            if (type == null) {
+                type = CONVERSION[opcode];
+            }
+        }
+
+        if (type == null && opcode >= EX_ExtendedNative) {
+            return readNativeCall(input, opcode);
+        }
+        if (type == null) {
+            throw new IOException(String.format("Unknown token: %02x", opcode));
+        }
+
+        Token token = type.newInstance(opcode);
+        if (token instanceof ConversionTable || ctx.isConversion()) {
+            ctx.changeConversion();
+        }
+        return token;
+    }
+
+    private static Token readNativeCall(ObjectInput<BytecodeContext> input, int b) throws IOException {
+        int nativeIndex = (b & 0xF0) == EX_ExtendedNative ?
+                ((b - EX_ExtendedNative) << 8) + input.readUnsignedByte() : b;
+
+        if (nativeIndex < EX_FirstNative) {
+            throw new UnrealException("Invalid native index: " + nativeIndex);
+        }
+
+        return new NativeFunctionCall(nativeIndex);
+    }
+
+    /**
+     * Reads the operands of a token created by {@link #instantiate} and
+     * records the token size.
+     */
+    static void readFields(Token token, ObjectInput<BytecodeContext> input) throws IOException {
+        token.setDecodedSize(-1);
+        int size = typeOf(token.getClass()).read(token, input);
+        token.setDecodedSize(size >= 0 ? size : token.getSize(input.getContext()));
+    }
+
+    static Token[] readFunctionParams(ObjectInput<BytecodeContext> input) throws IOException {
+        List<Token> tokens = new ArrayList<>();
+        while (true) {
+            Token token = readToken(input);
+            if (token instanceof EndFunctionParams) {
+                break;
+            }
+            tokens.add(token);
+        }
+        return tokens.toArray(new Token[0]);
+    }
+
+    static String readString(ObjectInput<BytecodeContext> input) throws IOException {
+        return readString(input, null);
+    }
+
+    /**
+     * @param size if not null, receives the byte length including the terminator
+     */
+    private static String readString(ObjectInput<BytecodeContext> input, int[] size) throws IOException {
+        byte[] bytes = new byte[32];
+        int length = 0;
+        int b;
+        while ((b = input.readUnsignedByte()) != 0) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = (byte) b;
+        }
+        if (size != null) {
+            size[0] = length + 1;
+        }
+        return new String(bytes, 0, length, input.getCharset());
+    }
+
+    /**
+     * Reads one field and returns its in-memory size.
+     */
+    @FunctionalInterface
+    private interface FieldReader {
+        int read(Token token, ObjectInput<BytecodeContext> input) throws Throwable;
+    }
+
+    /**
+     * Constructor and operand readers of one token class.
+     */
+    static final class TokenType {
+        private final Class<?> clazz;
+        private final MethodHandle constructor;
+        /** Compiled field readers, or null if the class is read some other way. */
+        private final FieldReader[] fields;
+        /** {@code @ReadMethod} of the class, if it declares one. */
+        private final MethodHandle readMethod;
+
+        private TokenType(Class<?> clazz) {
+            this.clazz = clazz;
+            MethodHandles.Lookup lookup;
+            MethodHandle ctor = null;
+            MethodHandle custom = null;
+            FieldReader[] readers = null;
+            try {
+                lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+                if (!Modifier.isAbstract(clazz.getModifiers()) && clazz != NativeFunctionCall.class) {
+                    ctor = lookup.findConstructor(clazz, MethodType.methodType(void.class))
+                            .asType(MethodType.methodType(Token.class));
+                }
+                for (Method method : clazz.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(ReadMethod.class)) {
+                        custom = lookup.unreflect(method)
+                                .asType(MethodType.methodType(void.class, Token.class, ObjectInput.class));
+                    }
+                }
+                if (custom == null) {
+                    readers = compileFields(lookup, clazz);
+                }
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+                log.fine(() -> clazz.getSimpleName() + " falls back to reflective decoding: " + e);
+            }
+            this.constructor = ctor;
+            this.readMethod = custom;
+            this.fields = readers;
+        }
+
+        Token newInstance(int opcode) {
+            if (constructor == null) {
+                throw new SerializerException("Failed to instantiate token 0x" + Integer.toHexString(opcode));
+            }
+            try {
+                return (Token) constructor.invokeExact();
+            } catch (Throwable e) {
+                throw new SerializerException("Failed to instantiate token 0x" + Integer.toHexString(opcode), e);
+            }
+        }
+
+        /**
+         * @return the token size, or -1 if it has to be measured by the token itself
+         */
+        int read(Token token, ObjectInput<BytecodeContext> input) throws IOException {
+            try {
+                if (readMethod != null) {
+                    readMethod.invokeExact(token, (ObjectInput) input);
+                } else if (fields != null) {
+                    int size = 1; // opcode
+                    for (FieldReader field : fields) {
+                        size += field.read(token, input);
+                    }
+                    // native calls may use a two byte opcode
+                    return token instanceof NativeFunctionCall ? -1 : size;
+                } else {
+                    // classes whose fields could not be compiled
+                    @SuppressWarnings("unchecked")
+                    Serializer<Token, BytecodeContext> serializer =
+                            (Serializer<Token, BytecodeContext>) input.getSerializerFactory().forClass(clazz);
+                    serializer.readObject(token, input);
+                }
+                return -1;
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return readers for the declared operand fields, or null if a field type
+     * is not supported (the class is then decoded reflectively)
+     */
+    private static FieldReader[] compileFields(MethodHandles.Lookup lookup, Class<?> clazz) throws IllegalAccessException {
+        List<FieldReader> readers = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                continue;
+            }
+            MethodHandle setter = lookup.unreflectSetter(field);
+            Class<?> type = field.getType();
+            if (type == int.class) {
+                MethodHandle set = setter.asType(MethodType.methodType(void.class, Token.class, int.class));
+                if (field.isAnnotationPresent(UByte.class)) {
+                    readers.add((token, input) -> {
+                        set.invokeExact(token, input.readUnsignedByte());
+                        return 1;
+                    });
+                } else if (field.isAnnotationPresent(UShort.class)) {
+                    readers.add((token, input) -> {
+                        set.invokeExact(token, input.readUnsignedShort());
+                        return 2;
+                    });
+                } else if (field.isAnnotationPresent(Compact.class)) {
+                    readers.add((token, input) -> {
+                        set.invokeExact(token, input.readCompactInt());
+                        return 4;
+                    });
+                } else {
+                    readers.add((token, input) -> {
+                        set.invokeExact(token, input.readInt());
+                        return 4;
+                    });
+                }
+            } else if (type == float.class) {
+                MethodHandle set = setter.asType(MethodType.methodType(void.class, Token.class, float.class));
+                readers.add((token, input) -> {
+                    set.invokeExact(token, input.readFloat());
+                    return 4;
+                });
+            } else if (type == String.class) {
+                MethodHandle set = setter.asType(MethodType.methodType(void.class, Token.class, String.class));
+                readers.add((token, input) -> {
+                    int[] size = new int[1];
+                    set.invokeExact(token, readString(input, size));
+                    return size[0];
+                });
+            } else if (type == Token.class) {
+                MethodHandle set = setter.asType(MethodType.methodType(void.class, Token.class, Token.class));
+                readers.add((token, input) -> {
+                    Token value = readToken(input);
+                    set.invokeExact(token, value);
+                    return value.getSize(input.getContext());
+                });
+            } else if (type == Token[].class && field.isAnnotationPresent(FunctionParams.class)) {
+                MethodHandle set = setter.asType(MethodType.methodType(void.class, Token.class, Token[].class));
+                readers.add((token, input) -> {
+                    Token[] params = readFunctionParams(input);
+                    set.invokeExact(token, params);
+                    int size = 1; // EndFunctionParams
+                    for (Token param : params) {
+                        size += param.getSize(input.getContext());
+                    }
+                    return size;
+                });
+            } else {
+                return null;
+            }
+        }
+        return readers.toArray(new FieldReader[0]);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.bytecode;
+
+import org.l2explorer.unreal.bytecode.token.Case;
+import org.l2explorer.unreal.bytecode.token.GotoLabel;
+import org.l2explorer.unreal.bytecode.token.Iterator;
+import org.l2explorer.unreal.bytecode.token.Jump;
+import org.l2explorer.unreal.bytecode.token.JumpIfNot;
+import org.l2explorer.unreal.bytecode.token.LabelTable;
+import org.l2explorer.unreal.bytecode.token.NameConst;
+import org.l2explorer.unreal.bytecode.token.Return;
+import org.l2explorer.unreal.bytecode.token.Skip;
+import org.l2explorer.unreal.bytecode.token.Stop;
+import org.l2explorer.unreal.bytecode.token.Token;
+
+import java.util.Arrays;
+
+/**
+ * Flat, index-addressed view of a decoded function body.
+ * <p>Every top-level statement token gets an index; per-index data (memory
+ * offset, flow kind, branch target) lives in parallel primitive arrays, so the
+ * control-flow analysis never has to walk the token objects again. Offsets are
+ * in-memory offsets, which is what jump targets in UnrealScript refer to.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class BytecodeIR {
+    /** Falls through to the next statement. */
+    public static final byte FLOW_NEXT = 0;
+    /** Unconditional jump to {@link #getTarget(int)}. */
+    public static final byte FLOW_JUMP = 1;
+    /** Conditional jump: falls through or goes to {@link #getTarget(int)}. */
+    public static final byte FLOW_BRANCH = 2;
+    /** Jump to a state label, resolved through the label table when possible. */
+    public static final byte FLOW_GOTO = 3;
+    /** Leaves the function (return, stop, label table terminator). */
+    public static final byte FLOW_EXIT = 4;
+
+    private final Token[] tokens;
+    private final int[] offsets;
+    private final byte[] flow;
+    private final int[] targets;
+    private final int[] labelOffsets;
+
+    private BytecodeIR(Token[] tokens, int[] offsets, byte[] flow, int[] targets, int[] labelOffsets) {
+        this.tokens = tokens;
+        this.offsets = offsets;
+        this.flow = flow;
+        this.targets = targets;
+        this.labelOffsets = labelOffsets;
+    }
+
+    /**
+     * Builds the IR for a function body.
+     *
+     * @param bytecode top-level statement tokens, as stored in {@code Struct.getBytecode()}
+     * @param context  context used to measure tokens that were not sized while decoding
+     */
+    public static BytecodeIR of(Token[] bytecode, BytecodeContext context) {
+        Token[] tokens = bytecode == null ? new Token[0] : bytecode;
+        int n = tokens.length;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + tokens[i].getSize(context);
+        }
+
+        // Label table first: GotoLabel resolves against it by name
+        int[] labelNames = new int[0];
+        int[] labelOffsets = new int[0];
+        for (Token token : tokens) {
+            if (token instanceof LabelTable table && table.getLabels() != null) {
+                LabelTable.Label[] labels = table.getLabels();
+                labelNames = new int[labels.length];
+                labelOffsets = new int[labels.length];
+                for (int i = 0; i < labels.length; i++) {
+                    labelNames[i] = labels[i].getNameRef();
+                    labelOffsets[i] = labels[i].getOffset();
+                }
+            }
+        }
+
+        byte[] flow = new byte[n];
+        int[] targets = new int[n];
+        Arrays.fill(targets, -1);
+        for (int i = 0; i < n; i++) {
+            Token token = tokens[i];
+            int targetOffset = -1;
+            byte kind = FLOW_NEXT;
+            switch (token) {
+                case Jump jump -> {
+                    kind = FLOW_JUMP;
+                    targetOffset = jump.getTargetOffset();
+                }
+                case JumpIfNot jumpIfNot -> {
+                    kind = FLOW_BRANCH;
+                    targetOffset = jumpIfNot.getTargetOffset();
+                }
+                case Iterator iterator -> {
+                    kind = FLOW_BRANCH;
+                    targetOffset = iterator.getEndOfLoopOffset();
+                }
+                case Case caseToken when caseToken.getNextOffset() != 0xFFFF -> {
+                    kind = FLOW_BRANCH;
+                    targetOffset = caseToken.getNextOffset();
+                }
+                case Skip skip -> {
+                    kind = FLOW_BRANCH;
+                    targetOffset = skip.getTargetOffset();
+                }
+                case GotoLabel gotoLabel -> {
+                    kind = FLOW_GOTO;
+                    if (gotoLabel.getLabel() instanceof NameConst name) {
+                        for (int l = 0; l < labelNames.length; l++) {
+                            if (labelNames[l] == name.getNameRef()) {
+                                targetOffset = labelOffsets[l];
+                                break;
+                            }
+                        }
+                    }
+                }
+                case Return _, Stop _, LabelTable _ -> kind = FLOW_EXIT;
+                default -> {
+                }
+            }
+            flow[i] = kind;
+            if (targetOffset >= 0) {
+                targets[i] = indexAt(offsets, n, targetOffset);
+            }
+        }
+        return new BytecodeIR(tokens, offsets, flow, targets, labelOffsets);
+    }
+
+    private static int indexAt(int[] offsets, int n, int offset) {
+        int i = Arrays.binarySearch(offsets, 0, n, offset);
+        return i >= 0 ? i : -1;
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public Token getToken(int index) {
+        return tokens[index];
+    }
+
+    /** Memory offset of the statement at {@code index}; {@code getOffset(size())} is the script size. */
+    public int getOffset(int index) {
+        return offsets[index];
+    }
+
+    public byte getFlow(int index) {
+        return flow[index];
+    }
+
+    /**
+     * Statement index the token at {@code index} may transfer control to,
+     * or -1 if it has no explicit target or the target is not a statement start.
+     */
+    public int getTarget(int index) {
+        return targets[index];
+    }
+
+    /**
+     * Maps a memory offset to the statement starting there.
+     *
+     * @return statement index, or -1 if no statement starts at {@code offset}
+     */
+    public int indexOf(int offset) {
+        return indexAt(offsets, tokens.length, offset);
+    }
+
+    /** Memory offsets of all state labels, in label table order. */
+    public int[] getLabelOffsets() {
+        return labelOffsets.clone();
+    }
+}
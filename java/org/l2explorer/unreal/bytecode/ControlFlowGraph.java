@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.bytecode;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Basic-block control-flow graph over a {@link BytecodeIR}.
+ * <p>Blocks are contiguous statement ranges. Successor and predecessor lists are
+ * stored in compressed (offset + flat array) form, and back edges are found
+ * with an iterative depth-first walk from the entry block, so loop headers
+ * can be recognised without recursion on long functions.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class ControlFlowGraph {
+    private final BytecodeIR ir;
+    private final int[] blockStart;
+    private final int[] blockOfToken;
+    private final int[] succStart;
+    private final int[] succ;
+    private final int[] predStart;
+    private final int[] pred;
+    private final BitSet loopHeaders = new BitSet();
+    private final BitSet reachable = new BitSet();
+
+    private ControlFlowGraph(BytecodeIR ir, int[] blockStart, int[] blockOfToken,
+                             int[] succStart, int[] succ, int[] predStart, int[] pred) {
+        this.ir = ir;
+        this.blockStart = blockStart;
+        this.blockOfToken = blockOfToken;
+        this.succStart = succStart;
+        this.succ = succ;
+        this.predStart = predStart;
+        this.pred = pred;
+    }
+
+    public static ControlFlowGraph build(BytecodeIR ir) {
+        int n = ir.size();
+
+        // Leaders: entry, branch targets, statements after a control transfer, labels
+        BitSet leaders = new BitSet(n + 1);
+        if (n > 0) {
+            leaders.set(0);
+        }
+        for (int i = 0; i < n; i++) {
+            if (ir.getFlow(i) != BytecodeIR.FLOW_NEXT) {
+                leaders.set(i + 1);
+            }
+            if (ir.getTarget(i) >= 0) {
+                leaders.set(ir.getTarget(i));
+            }
+        }
+        for (int offset : ir.getLabelOffsets()) {
+            int i = ir.indexOf(offset);
+            if (i >= 0) {
+                leaders.set(i);
+            }
+        }
+        leaders.clear(n);
+
+        int blocks = leaders.cardinality();
+        int[] blockStart = new int[blocks + 1];
+        int[] blockOfToken = new int[n];
+        for (int b = 0, i = leaders.nextSetBit(0); i >= 0; i = leaders.nextSetBit(i + 1)) {
+            blockStart[b++] = i;
+        }
+        blockStart[blocks] = n;
+        for (int b = 0; b < blocks; b++) {
+            Arrays.fill(blockOfToken, blockStart[b], blockStart[b + 1], b);
+        }
+
+        // At most two successors per block, except unresolved gotos (one per label)
+        int[] labelBlocks = Arrays.stream(ir.getLabelOffsets())
+                .map(ir::indexOf)
+                .filter(i -> i >= 0)
+                .map(i -> blockOfToken[i])
+                .distinct()
+                .toArray();
+        int[] succStart = new int[blocks + 1];
+        int[] succ = new int[blocks * 2 + blocks * labelBlocks.length];
+        int edges = 0;
+        for (int b = 0; b < blocks; b++) {
+            succStart[b] = edges;
+            int last = blockStart[b + 1] - 1;
+            int target = ir.getTarget(last);
+            switch (ir.getFlow(last)) {
+                case BytecodeIR.FLOW_NEXT -> {
+                    if (b + 1 < blocks) {
+                        succ[edges++] = b + 1;
+                    }
+                }
+                case BytecodeIR.FLOW_JUMP -> {
+                    if (target >= 0) {
+                        succ[edges++] = blockOfToken[target];
+                    }
+                }
+                case BytecodeIR.FLOW_BRANCH -> {
+                    if (b + 1 < blocks) {
+                        succ[edges++] = b + 1;
+                    }
+                    if (target >= 0 && (b + 1 >= blocks || blockOfToken[target] != b + 1)) {
+                        succ[edges++] = blockOfToken[target];
+                    }
+                }
+                case BytecodeIR.FLOW_GOTO -> {
+                    if (target >= 0) {
+                        succ[edges++] = blockOfToken[target];
+                    } else {
+                        for (int l : labelBlocks) {
+                            succ[edges++] = l;
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        succStart[blocks] = edges;
+        succ = Arrays.copyOf(succ, edges);
+
+        int[] predStart = new int[blocks + 1];
+        for (int s : succ) {
+            predStart[s + 1]++;
+        }
+        for (int b = 0; b < blocks; b++) {
+            predStart[b + 1] += predStart[b];
+        }
+        int[] pred = new int[edges];
+        int[] fill = Arrays.copyOf(predStart, blocks);
+        for (int b = 0; b < blocks; b++) {
+            for (int e = succStart[b]; e < succStart[b + 1]; e++) {
+                pred[fill[succ[e]]++] = b;
+            }
+        }
+
+        ControlFlowGraph cfg = new ControlFlowGraph(ir, blockStart, blockOfToken, succStart, succ, predStart, pred);
+        cfg.findLoops();
+        return cfg;
+    }
+
+    private void findLoops() {
+        int blocks = getBlockCount();
+        if (blocks == 0) {
+            return;
+        }
+        // 0 = unvisited, 1 = on stack, 2 = done
+        byte[] state = new byte[blocks];
+        int[] stack = new int[blocks];
+        int[] edge = new int[blocks];
+        int top = 0;
+        stack[0] = 0;
+        edge[0] = succStart[0];
+        state[0] = 1;
+        reachable.set(0);
+        while (top >= 0) {
+            int b = stack[top];
+            if (edge[top] < succStart[b + 1]) {
+                int s = succ[edge[top]++];
+                if (state[s] == 0) {
+                    state[s] = 1;
+                    reachable.set(s);
+                    stack[++top] = s;
+                    edge[top] = succStart[s];
+                } else if (state[s] == 1) {
+                    loopHeaders.set(s);
+                }
+            } else {
+                state[b] = 2;
+                top--;
+            }
+        }
+    }
+
+    public BytecodeIR getIR() {
+        return ir;
+    }
+
+    public int getBlockCount() {
+        return blockStart.length - 1;
+    }
+
+    /** First statement index of {@code block}. */
+    public int getBlockStart(int block) {
+        return blockStart[block];
+    }
+
+    /** Statement index one past the last statement of {@code block}. */
+    public int getBlockEnd(int block) {
+        return blockStart[block + 1];
+    }
+
+    public int getBlockOf(int tokenIndex) {
+        return blockOfToken[tokenIndex];
+    }
+
+    public int[] getSuccessors(int block) {
+        return Arrays.copyOfRange(succ, succStart[block], succStart[block + 1]);
+    }
+
+    public int[] getPredecessors(int block) {
+        return Arrays.copyOfRange(pred, predStart[block], predStart[block + 1]);
+    }
+
+    /** True if some edge reached during a walk from the entry returns to {@code block}. */
+    public boolean isLoopHeader(int block) {
+        return loopHeaders.get(block);
+    }
+
+    /** False for blocks that no path from the entry block reaches. */
+    public boolean isReachable(int block) {
+        return reachable.get(block);
+    }
+}
@@ -30,6 +30,7 @@ public class ArrayElement extends Token {
 
     public void setIndex(Token index) {
         this.index = index;
+        sizeChanged();
     }
 
     public Token getArray() {
@@ -38,6 +39,7 @@ public class ArrayElement extends Token {
 
     public void setArray(Token array) {
         this.array = array;
+        sizeChanged();
     }
 
     @Override
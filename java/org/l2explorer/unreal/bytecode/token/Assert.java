@@ -32,6 +32,7 @@ public class Assert extends Token {
 
     public void setLineNumber(int lineNumber) {
         this.lineNumber = lineNumber;
+        sizeChanged();
     }
 
     public Token getExpression() {
@@ -40,6 +41,7 @@ public class Assert extends Token {
 
     public void setExpression(Token expression) {
         this.expression = expression;
+        sizeChanged();
     }
 
     @Override
@@ -45,6 +45,7 @@ public class BoolToByte extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -23,6 +23,7 @@ public class BoolToFloat extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
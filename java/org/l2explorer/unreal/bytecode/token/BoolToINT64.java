@@ -45,6 +45,7 @@ public class BoolToINT64 extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -45,6 +45,7 @@ public class BoolToInt extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -24,6 +24,7 @@ public class BoolVariable extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
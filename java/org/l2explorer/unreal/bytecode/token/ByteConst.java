@@ -30,6 +30,7 @@ public class ByteConst extends Token {
 
     public void setValue(int value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
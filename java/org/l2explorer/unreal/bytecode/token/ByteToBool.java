@@ -26,6 +26,7 @@ public class ByteToBool extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
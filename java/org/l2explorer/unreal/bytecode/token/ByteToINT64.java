@@ -23,6 +23,7 @@ public class ByteToINT64 extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
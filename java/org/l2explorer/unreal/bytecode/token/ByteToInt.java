@@ -23,6 +23,7 @@ public class ByteToInt extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -39,6 +39,7 @@ public class Case extends Token {
 
     public void setNextOffset(int nextOffset) {
         this.nextOffset = nextOffset;
+        sizeChanged();
     }
 
     public Token getCondition() {
@@ -47,6 +48,7 @@ public class Case extends Token {
 
     public void setCondition(Token condition) {
         this.condition = condition;
+        sizeChanged();
     }
 
     @Override
@@ -34,16 +34,16 @@ public class ClassContext extends Token {
 
     // Getters e Setters
     public Token getClazz() { return clazz; }
-    public void setClazz(Token clazz) { this.clazz = clazz; }
+    public void setClazz(Token clazz) { this.clazz = clazz; sizeChanged(); }
 
     public int getWSkip() { return wSkip; }
-    public void setWSkip(int wSkip) { this.wSkip = wSkip; }
+    public void setWSkip(int wSkip) { this.wSkip = wSkip; sizeChanged(); }
 
     public int getBSize() { return bSize; }
-    public void setBSize(int bSize) { this.bSize = bSize; }
+    public void setBSize(int bSize) { this.bSize = bSize; sizeChanged(); }
 
     public Token getMember() { return member; }
-    public void setMember(Token member) { this.member = member; }
+    public void setMember(Token member) { this.member = member; sizeChanged(); }
 
     @Override
     protected int getOpcode() {
@@ -34,16 +34,16 @@ public class Context extends Token {
 
     // Getters e Setters
     public Token getObject() { return object; }
-    public void setObject(Token object) { this.object = object; }
+    public void setObject(Token object) { this.object = object; sizeChanged(); }
 
     public int getWSkip() { return wSkip; }
-    public void setWSkip(int wSkip) { this.wSkip = wSkip; }
+    public void setWSkip(int wSkip) { this.wSkip = wSkip; sizeChanged(); }
 
     public int getBSize() { return bSize; }
-    public void setBSize(int bSize) { this.bSize = bSize; }
+    public void setBSize(int bSize) { this.bSize = bSize; sizeChanged(); }
 
     public Token getMember() { return member; }
-    public void setMember(Token member) { this.member = member; }
+    public void setMember(Token member) { this.member = member; sizeChanged(); }
 
     @Override
     protected int getOpcode() {
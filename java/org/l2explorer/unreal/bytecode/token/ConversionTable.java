@@ -25,6 +25,7 @@ public class ConversionTable extends Token {
 
     public void setInner(Token inner) {
         this.inner = inner;
+        sizeChanged();
     }
 
     @Override
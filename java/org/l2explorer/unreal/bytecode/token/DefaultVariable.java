@@ -29,6 +29,7 @@ public class DefaultVariable extends Token {
 
     public void setObjRef(int objRef) {
         this.objRef = objRef;
+        sizeChanged();
     }
 
     @Override
@@ -29,6 +29,7 @@ public class DelegateFunction extends Token {
 
     public void setNameRef(int nameRef) {
         this.nameRef = nameRef;
+        sizeChanged();
     }
 
     @Override
@@ -27,6 +27,7 @@ public class DynArrayElement extends Token {
 
     public void setIndex(Token index) {
         this.index = index;
+        sizeChanged();
     }
 
     public Token getArray() {
@@ -35,6 +36,7 @@ public class DynArrayElement extends Token {
 
     public void setArray(Token array) {
         this.array = array;
+        sizeChanged();
     }
 
     @Override
@@ -28,6 +28,7 @@ public class DynArraySort extends Token {
 
     public void setArray(Token array) {
         this.array = array;
+        sizeChanged();
     }
 
     public Token getCompareFunction() {
@@ -36,6 +37,7 @@ public class DynArraySort extends Token {
 
     public void setCompareFunction(Token compareFunction) {
         this.compareFunction = compareFunction;
+        sizeChanged();
     }
 
     @Override
@@ -32,6 +32,7 @@ public class DynamicCast extends Token {
 
     public void setClassRef(int classRef) {
         this.classRef = classRef;
+        sizeChanged();
     }
 
     public Token getValue() {
@@ -40,6 +41,7 @@ public class DynamicCast extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -25,6 +25,7 @@ public class EatString extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -55,6 +55,7 @@ public class FinalFunction extends Token {
 
     public void setFuncRef(int funcRef) {
         this.funcRef = funcRef;
+        sizeChanged();
     }
 
     public Token[] getParams() {
@@ -63,6 +64,7 @@ public class FinalFunction extends Token {
 
     public void setParams(Token[] params) {
         this.params = params;
+        sizeChanged();
     }
 
     @Override
@@ -40,6 +40,7 @@ public class FloatConst extends Token {
 
     public void setValue(float value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
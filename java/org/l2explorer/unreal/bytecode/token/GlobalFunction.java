@@ -54,6 +54,7 @@ public class GlobalFunction extends Token {
 
     public void setNameRef(int nameRef) {
         this.nameRef = nameRef;
+        sizeChanged();
     }
 
     public Token[] getParams() {
@@ -62,6 +63,7 @@ public class GlobalFunction extends Token {
 
     public void setParams(Token[] params) {
         this.params = params;
+        sizeChanged();
     }
 
     @Override
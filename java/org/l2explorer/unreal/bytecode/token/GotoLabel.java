@@ -40,6 +40,7 @@ public class GotoLabel extends Token {
 
     public void setLabel(Token label) {
         this.label = label;
+        sizeChanged();
     }
 
     @Override
@@ -43,6 +43,7 @@ public class INT64Const extends Token {
 
     public void setH(int h) {
         this.h = h;
+        sizeChanged();
     }
 
     public int getL() {
@@ -51,6 +52,7 @@ public class INT64Const extends Token {
 
     public void setL(int l) {
         this.l = l;
+        sizeChanged();
     }
 
     /**
@@ -43,6 +43,7 @@ public class INT64ToBool extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -42,6 +42,7 @@ public class INT64ToByte extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -43,6 +43,7 @@ public class INT64ToFloat extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
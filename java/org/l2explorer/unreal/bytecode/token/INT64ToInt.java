@@ -44,6 +44,7 @@ public class INT64ToInt extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
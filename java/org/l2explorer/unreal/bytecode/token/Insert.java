@@ -46,6 +46,7 @@ public class Insert extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     public Token getIndex() {
@@ -54,6 +55,7 @@ public class Insert extends Token {
 
     public void setIndex(Token index) {
         this.index = index;
+        sizeChanged();
     }
 
     public Token getLength() {
@@ -62,6 +64,7 @@ public class Insert extends Token {
 
     public void setLength(Token length) {
         this.length = length;
+        sizeChanged();
     }
 
     @Override
@@ -45,6 +45,7 @@ public class InstanceVariable extends Token {
 
     public void setObjRef(int objRef) {
         this.objRef = objRef;
+        sizeChanged();
     }
 
     @Override
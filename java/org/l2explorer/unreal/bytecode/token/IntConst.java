@@ -42,6 +42,7 @@ public class IntConst extends Token {
 
     public void setValue(int value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
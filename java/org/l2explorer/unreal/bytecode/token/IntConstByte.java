@@ -45,6 +45,7 @@ public class IntConstByte extends Token {
 
     public void setValue(int value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -46,6 +46,7 @@ public class IntToByte extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
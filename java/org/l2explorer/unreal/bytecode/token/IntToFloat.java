@@ -46,6 +46,7 @@ public class IntToFloat extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
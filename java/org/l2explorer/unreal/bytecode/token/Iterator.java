@@ -52,6 +52,7 @@ public class Iterator extends Token {
 
     public void setExpression(Token expression) {
         this.expression = expression;
+        sizeChanged();
     }
 
     public int getEndOfLoopOffset() {
@@ -60,6 +61,7 @@ public class Iterator extends Token {
 
     public void setEndOfLoopOffset(int endOfLoopOffset) {
         this.endOfLoopOffset = endOfLoopOffset;
+        sizeChanged();
     }
 
     @Override
@@ -48,6 +48,7 @@ public class Jump extends Token {
 
     public void setTargetOffset(int targetOffset) {
         this.targetOffset = targetOffset;
+        sizeChanged();
     }
 
     @Override
@@ -52,6 +52,7 @@ public class JumpIfNot extends Token {
 
     public void setTargetOffset(int targetOffset) {
         this.targetOffset = targetOffset;
+        sizeChanged();
     }
 
     public Token getCondition() {
@@ -60,6 +61,7 @@ public class JumpIfNot extends Token {
 
     public void setCondition(Token condition) {
         this.condition = condition;
+        sizeChanged();
     }
 
     @Override
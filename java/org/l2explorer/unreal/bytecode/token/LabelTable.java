@@ -51,6 +51,7 @@ public class LabelTable extends Token {
 
     public void setLabels(Label[] labels) {
         this.labels = labels;
+        sizeChanged();
     }
 
     @Override
@@ -44,6 +44,7 @@ public class Length extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -46,6 +46,7 @@ public class Let extends Token {
 
     public void setLeft(Token left) {
         this.left = left;
+        sizeChanged();
     }
 
     public Token getRight() {
@@ -54,6 +55,7 @@ public class Let extends Token {
 
     public void setRight(Token right) {
         this.right = right;
+        sizeChanged();
     }
 
     @Override
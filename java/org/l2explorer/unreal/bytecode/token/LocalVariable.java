@@ -47,6 +47,7 @@ public class LocalVariable extends Token {
 
     public void setObjRef(int objRef) {
         this.objRef = objRef;
+        sizeChanged();
     }
 
     @Override
@@ -21,6 +21,7 @@ public class MByteToINT64 extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
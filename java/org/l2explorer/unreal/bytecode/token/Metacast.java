@@ -52,6 +52,7 @@ public class Metacast extends Token {
 
     public void setClassRef(int classRef) {
         this.classRef = classRef;
+        sizeChanged();
     }
 
     public Token getValue() {
@@ -60,6 +61,7 @@ public class Metacast extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
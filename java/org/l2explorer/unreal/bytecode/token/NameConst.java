@@ -47,6 +47,7 @@ public class NameConst extends Token {
 
     public void setNameRef(int nameRef) {
         this.nameRef = nameRef;
+        sizeChanged();
     }
 
     @Override
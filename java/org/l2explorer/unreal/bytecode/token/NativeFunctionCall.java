@@ -12,7 +12,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Represents a call to a native function.
@@ -70,22 +69,18 @@ public class NativeFunctionCall extends Token {
         }
     }
 
+    private static final Sizer<Token> SIZER = (token, context) -> {
+        NativeFunctionCall nfc = (NativeFunctionCall) token;
+        int baseSize = (nfc.getNativeIndex() > 0xFF) ? 2 : 1;
+        return baseSize + paramsSize(nfc.getParams(), context);
+    };
+
     /**
      * Custom sizer to account for 1 or 2 byte native indices.
      */
     @Override
     protected Sizer<Token> getSizer() {
-        return (token, context) -> {
-            NativeFunctionCall nfc = (NativeFunctionCall) token;
-            int baseSize = (nfc.getNativeIndex() > 0xFF) ? 2 : 1;
-            
-            int paramsSize = Stream.concat(
-                    Arrays.stream(nfc.getParams()), 
-                    Stream.of(new EndFunctionParams())
-            ).mapToInt(t -> t.getSize(context)).sum();
-            
-            return baseSize + paramsSize;
-        };
+        return SIZER;
     }
 
     public int getNativeIndex() {
@@ -94,6 +89,7 @@ public class NativeFunctionCall extends Token {
 
     public void setNativeIndex(int nativeIndex) {
         this.nativeIndex = nativeIndex;
+        sizeChanged();
     }
 
     public Token[] getParams() {
@@ -102,6 +98,7 @@ public class NativeFunctionCall extends Token {
 
     public void setParams(Token[] params) {
         this.params = params;
+        sizeChanged();
     }
 
     @Override
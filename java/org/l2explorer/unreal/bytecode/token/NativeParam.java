@@ -47,6 +47,7 @@ public class NativeParam extends Token {
 
     public void setObjRef(int objRef) {
         this.objRef = objRef;
+        sizeChanged();
     }
 
     @Override
@@ -56,6 +56,7 @@ public class New extends Token {
 
     public void setOuter(Token outer) {
         this.outer = outer;
+        sizeChanged();
     }
 
     public Token getName() {
@@ -64,6 +65,7 @@ public class New extends Token {
 
     public void setName(Token name) {
         this.name = name;
+        sizeChanged();
     }
 
     public Token getFlags() {
@@ -72,6 +74,7 @@ public class New extends Token {
 
     public void setFlags(Token flags) {
         this.flags = flags;
+        sizeChanged();
     }
 
     public Token getClazz() {
@@ -80,6 +83,7 @@ public class New extends Token {
 
     public void setClazz(Token clazz) {
         this.clazz = clazz;
+        sizeChanged();
     }
 
     @Override
@@ -49,6 +49,7 @@ public class ObjectConst extends Token {
 
     public void setObjRef(int objRef) {
         this.objRef = objRef;
+        sizeChanged();
     }
 
     @Override
@@ -49,6 +49,7 @@ public class ObjectToString extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
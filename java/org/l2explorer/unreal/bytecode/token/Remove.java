@@ -50,6 +50,7 @@ public class Remove extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     public Token getIndex() {
@@ -58,6 +59,7 @@ public class Remove extends Token {
 
     public void setIndex(Token index) {
         this.index = index;
+        sizeChanged();
     }
 
     public Token getLength() {
@@ -66,6 +68,7 @@ public class Remove extends Token {
 
     public void setLength(Token length) {
         this.length = length;
+        sizeChanged();
     }
 
     @Override
@@ -43,6 +43,7 @@ public class Return extends Token {
 
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     @Override
@@ -49,6 +49,7 @@ public class RotatorConst extends Token {
 
     public void setPitch(int pitch) {
         this.pitch = pitch;
+        sizeChanged();
     }
 
     public int getYaw() {
@@ -57,6 +58,7 @@ public class RotatorConst extends Token {
 
     public void setYaw(int yaw) {
         this.yaw = yaw;
+        sizeChanged();
     }
 
     public int getRoll() {
@@ -65,6 +67,7 @@ public class RotatorConst extends Token {
 
     public void setRoll(int roll) {
         this.roll = roll;
+        sizeChanged();
     }
 
     @Override
@@ -65,6 +65,7 @@ public class RotatorToBool extends Token {
      */
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
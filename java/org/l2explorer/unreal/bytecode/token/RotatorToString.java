@@ -66,6 +66,7 @@ public class RotatorToString extends Token {
      */
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
@@ -70,6 +70,7 @@ public class Skip extends Token {
      */
     public void setTargetOffset(int targetOffset) {
         this.targetOffset = targetOffset;
+        sizeChanged();
     }
 
     /**
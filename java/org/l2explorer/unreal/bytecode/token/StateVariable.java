@@ -22,6 +22,7 @@ public class StateVariable extends Token {
 
     public void setObjectIndex(int objectIndex) {
         this.objectIndex = objectIndex;
+        sizeChanged();
     }
 
     @Override
@@ -66,6 +66,7 @@ public class StringConst extends Token {
      */
     public void setValue(String value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
@@ -67,6 +67,7 @@ public class StringToByte extends Token {
      */
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
@@ -67,6 +67,7 @@ public class StringToInt extends Token {
      */
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
@@ -67,6 +67,7 @@ public class StringToName extends Token {
      */
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
@@ -67,6 +67,7 @@ public class StringToVector extends Token {
      */
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
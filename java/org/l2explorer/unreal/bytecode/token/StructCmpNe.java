@@ -84,6 +84,7 @@ public class StructCmpNe extends Token {
      */
     public void setStructRef(int structRef) {
         this.structRef = structRef;
+        sizeChanged();
     }
 
     /**
@@ -102,6 +103,7 @@ public class StructCmpNe extends Token {
      */
     public void setLeft(Token left) {
         this.left = left;
+        sizeChanged();
     }
 
     /**
@@ -120,6 +122,7 @@ public class StructCmpNe extends Token {
      */
     public void setRight(Token right) {
         this.right = right;
+        sizeChanged();
     }
 
     /**
@@ -78,6 +78,7 @@ public class StructMember extends Token {
      */
     public void setObjRef(int objRef) {
         this.objRef = objRef;
+        sizeChanged();
     }
 
     /**
@@ -96,6 +97,7 @@ public class StructMember extends Token {
      */
     public void setStruct(Token struct) {
         this.struct = struct;
+        sizeChanged();
     }
 
     /**
@@ -75,6 +75,7 @@ public class Switch extends Token {
      */
     public void setOffset(int offset) {
         this.offset = offset;
+        sizeChanged();
     }
 
     /**
@@ -93,6 +94,7 @@ public class Switch extends Token {
      */
     public void setExpression(Token expression) {
         this.expression = expression;
+        sizeChanged();
     }
 
     /**
@@ -10,19 +10,19 @@ import org.l2explorer.unreal.bytecode.BytecodeContext;
 import org.l2explorer.unreal.bytecode.token.annotation.FunctionParams;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiFunction;
-
-import static org.l2explorer.io.ReflectionUtil.fieldGet;
 
 /**
  * Base class for all UnrealScript bytecode tokens.
  * <p>Handles opcode identification, serialization, and dynamic size calculation 
- * through reflection-based sizers.</p>
+ * through per-class sizers compiled once from the token fields.</p>
  *
  * @author acmi (Original Code)
  * @author Galagard (Analysis for Clean Room)
@@ -37,6 +37,11 @@ public abstract class Token {
      */
     private static final Map<Class<? extends Token>, Sizer<? extends Token>> SIZERS = new ConcurrentHashMap<>();
 
+    /**
+     * Size recorded while decoding, or -1 if it has to be measured.
+     */
+    private transient int decodedSize = -1;
+
     /**
      * Returns the unique opcode associated with this token.
      *
@@ -86,17 +91,35 @@ public abstract class Token {
 
     /**
      * Creates a sizer that calculates the byte size of a token based on its fields.
+     * <p>The field list is resolved once per class; the returned sizer only
+     * reads field values through method handles.</p>
      *
      * @param clazz The token class.
      * @return A sizer function.
      */
     private static Sizer<? extends Token> createSizer(Class<? extends Token> clazz) {
-        return (token, context) -> 1 + // 1 byte for Opcode
-                Arrays.stream(clazz.getDeclaredFields())
-                        .filter(f -> !Modifier.isStatic(f.getModifiers()) && !Modifier.isTransient(f.getModifiers()))
-                        .map(Token::fieldSizer)
-                        .mapToInt(f -> f.apply(token, context))
-                        .sum();
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access fields of " + clazz, e);
+        }
+        Sizer<Token>[] fields = Arrays.stream(clazz.getDeclaredFields())
+                .filter(f -> !Modifier.isStatic(f.getModifiers()) && !Modifier.isTransient(f.getModifiers()) && !f.isSynthetic())
+                .map(f -> fieldSizer(lookup, f))
+                .toArray(Token::newSizerArray);
+        return (token, context) -> {
+            int size = 1; // 1 byte for Opcode
+            for (Sizer<Token> field : fields) {
+                size += field.getSize(token, context);
+            }
+            return size;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Sizer<Token>[] newSizerArray(int length) {
+        return (Sizer<Token>[]) new Sizer<?>[length];
     }
 
     /**
@@ -105,8 +128,7 @@ public abstract class Token {
      * @param f The field to analyze.
      * @return A function that returns the size of the field in bytes.
      */
-    @SuppressWarnings("unused")
-	private static BiFunction<Token, BytecodeContext, Integer> fieldSizer(Field f) {
+    private static Sizer<Token> fieldSizer(MethodHandles.Lookup lookup, Field f) {
         Class<?> type = f.getType();
         
         if (type == byte.class || f.isAnnotationPresent(UByte.class)) {
@@ -115,28 +137,73 @@ public abstract class Token {
             return (token, context) -> 2;
         } else if (type == int.class || type == float.class) {
             return (token, context) -> 4;
-        } else if (type == String.class) {
+        }
+
+        MethodHandle getter;
+        try {
+            getter = lookup.unreflectGetter(f).asType(MethodType.methodType(Object.class, Token.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access " + f, e);
+        }
+
+        if (type == String.class) {
             return (token, context) -> {
-                String s = (String) fieldGet(f, token);
+                String s = (String) get(getter, token);
                 byte[] bytes = s.getBytes(context.getUnrealPackage().getFile().getCharset());
                 return bytes.length + 1; // Length + null terminator
             };
         } else if (Token.class.isAssignableFrom(type)) {
             return (token, context) -> {
-                Token t = (Token) fieldGet(f, token);
+                Token t = (Token) get(getter, token);
                 return t != null ? t.getSize(context) : 0;
             };
         } else if (f.isAnnotationPresent(FunctionParams.class)) {
-            return (token, context) -> {
-                Token[] params = (Token[]) fieldGet(f, token);
-                int paramsSize = Arrays.stream(params).mapToInt(t -> t.getSize(context)).sum();
-                return paramsSize + new EndFunctionParams().getSize(context);
-            };
+            return (token, context) -> paramsSize((Token[]) get(getter, token), context);
         } else {
             throw new IllegalStateException("Unsupported field type for serialization: " + type);
         }
     }
 
+    private static Object get(MethodHandle getter, Token token) {
+        try {
+            return (Object) getter.invokeExact(token);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Size of a function parameter list including its EndFunctionParams terminator.
+     */
+    protected static int paramsSize(Token[] params, BytecodeContext context) {
+        int size = 1; // EndFunctionParams
+        for (Token param : params) {
+            size += param.getSize(context);
+        }
+        return size;
+    }
+
+    /**
+     * Records the size computed by the bytecode decoder, making
+     * {@link #getSize(BytecodeContext)} constant time for decoded tokens.
+     * Setters forget the recorded size through {@link #sizeChanged()}; a
+     * token whose nested tokens or arrays are changed in place should be
+     * given {@code -1} so that its size is measured again.
+     *
+     * @param size The size in bytes, or -1 to measure from the fields.
+     */
+    public final void setDecodedSize(int size) {
+        this.decodedSize = size;
+    }
+
+    /**
+     * Forgets the size recorded while decoding. Called by every mutator that
+     * can change the encoded form of the token.
+     */
+    protected final void sizeChanged() {
+        this.decodedSize = -1;
+    }
+
     /**
      * Calculates the total size of this token in the bytecode.
      *
@@ -144,7 +211,8 @@ public abstract class Token {
      * @return The size in bytes.
      */
     public int getSize(BytecodeContext context) {
-        return getSizer().getSize(this, context);
+        int size = decodedSize;
+        return size >= 0 ? size : getSizer().getSize(this, context);
     }
 
     /**
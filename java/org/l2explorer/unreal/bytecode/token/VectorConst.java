@@ -60,6 +60,7 @@ public class VectorConst extends Token {
 
     public void setX(float x) {
         this.x = x;
+        sizeChanged();
     }
 
     public float getY() {
@@ -68,6 +69,7 @@ public class VectorConst extends Token {
 
     public void setY(float y) {
         this.y = y;
+        sizeChanged();
     }
 
     public float getZ() {
@@ -76,6 +78,7 @@ public class VectorConst extends Token {
 
     public void setZ(float z) {
         this.z = z;
+        sizeChanged();
     }
 
     /**
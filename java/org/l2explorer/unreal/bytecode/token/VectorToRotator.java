@@ -66,6 +66,7 @@ public class VectorToRotator extends Token {
      */
     public void setValue(Token value) {
         this.value = value;
+        sizeChanged();
     }
 
     /**
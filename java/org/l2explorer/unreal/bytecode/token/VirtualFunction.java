@@ -71,6 +71,7 @@ public class VirtualFunction extends Token {
 
     public void setNameRef(int nameRef) {
         this.nameRef = nameRef;
+        sizeChanged();
     }
 
     public Token[] getParams() {
@@ -79,6 +80,7 @@ public class VirtualFunction extends Token {
 
     public void setParams(Token[] params) {
         this.params = params;
+        sizeChanged();
     }
 
     /**
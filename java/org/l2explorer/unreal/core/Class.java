@@ -126,8 +126,8 @@ public class Class extends State {
             output.writeCompactInt(nameIdx);
         }
 
-        // 6. Properties - Using the field directly since getProperties() is missing
-        PropertiesUtil.writeProperties(output, this.properties);
+        // 6. Properties - getProperties() decodes them first if they were deferred
+        PropertiesUtil.writeProperties(output, getProperties());
     }
 
     // Getters and Setters
@@ -7,6 +7,7 @@ import org.l2explorer.io.annotation.Compact;
 import org.l2explorer.io.annotation.ReadMethod;
 import org.l2explorer.io.annotation.WriteMethod;
 import org.l2explorer.unreal.UnrealRuntimeContext;
+import org.l2explorer.unreal.properties.DeferredProperties;
 import org.l2explorer.unreal.properties.L2Property;
 import org.l2explorer.unreal.properties.PropertiesUtil;
 
@@ -44,6 +45,12 @@ public class Object {
      */
     protected final List<L2Property> properties = new ArrayList<>();
 
+    /**
+     * Serialized properties not decoded yet; merged into {@link #properties}
+     * on the first call to {@link #getProperties()}.
+     */
+    private transient volatile DeferredProperties deferredProperties;
+
     /**
      * Buffer for unread data during transition/debugging.
      */
@@ -139,9 +146,47 @@ public class Object {
     }
 
     public List<L2Property> getProperties() {
+        if (deferredProperties != null) {
+            synchronized (properties) {
+                DeferredProperties deferred = deferredProperties;
+                if (deferred != null) {
+                    properties.addAll(deferred.readAll());
+                    deferredProperties = null;
+                }
+            }
+        }
         return properties;
     }
 
+    /**
+     * Looks up a single property by name. While the property list is still
+     * deferred only that entry is decoded, and the result is a detached copy;
+     * use {@link #getProperties()} to edit.
+     *
+     * @return the property, or null if it is not set on this object
+     */
+    public L2Property getProperty(String name) {
+        DeferredProperties deferred = deferredProperties;
+        if (deferred != null) {
+            return deferred.read(name);
+        }
+        return PropertiesUtil.getAt(getProperties(), name);
+    }
+
+    /**
+     * Defers decoding of this object's properties until they are requested.
+     */
+    public void setDeferredProperties(DeferredProperties deferredProperties) {
+        this.deferredProperties = deferredProperties;
+    }
+
+    /**
+     * @return true if properties are still waiting to be decoded
+     */
+    public boolean isPropertiesDeferred() {
+        return deferredProperties != null;
+    }
+
     // --- Inner Classes for Unreal Types ---
 
     /**
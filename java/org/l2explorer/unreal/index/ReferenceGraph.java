@@ -0,0 +1,725 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.l2explorer.io.L2DataInput;
+import org.l2explorer.io.ObjectInput;
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.unreal.Env;
+import org.l2explorer.unreal.Environment;
+import org.l2explorer.unreal.bytecode.BytecodeContext;
+import org.l2explorer.unreal.bytecode.BytecodeDecoder;
+import org.l2explorer.unreal.bytecode.TokenSerializerFactory;
+import org.l2explorer.utils.AtomicFiles;
+
+import static org.l2explorer.io.UnrealPackage.ObjectFlag.HasStack;
+
+/**
+ * Reference graph over all packages of an {@link Env}.
+ * <p>Nodes are object full names (packages are the outermost objects), edges
+ * come from the import tables, the export tables (outer, class and super
+ * class) and, for script objects, the references serialized ahead of any
+ * bytecode: {@code Field.superField}, the types of object, class, struct,
+ * byte and delegate properties and the {@code Class.Dependency} array. These
+ * are read straight from the raw export data, so building the graph never
+ * goes through {@link org.l2explorer.unreal.UnrealSerializerFactory} and never
+ * loads other packages.</p>
+ * <p>Edges are kept in compressed adjacency arrays in both directions. The
+ * edges of every package are written to a snapshot and reused on the next
+ * {@link #build(Env, Path)} while the package file keeps its size and
+ * modification time.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class ReferenceGraph {
+    private static final Logger log = Logger.getLogger(ReferenceGraph.class.getName());
+
+    private static final int MAGIC = 0x5258324C; // "L2XR"
+    /** Bumped when the snapshot layout or the scanned references change. */
+    private static final int FORMAT = 1;
+
+    private static final int HAS_STACK = HasStack.getMask();
+    /** {@code CPF_Net}: the property stores a replication offset. */
+    private static final int PROPERTY_NET = 0x00000020;
+
+    /**
+     * How the source of an edge refers to its target.
+     */
+    public enum EdgeKind {
+        /** Package imports the object. */
+        IMPORT,
+        /** Object is the outer of the target. */
+        MEMBER,
+        /** Object is an instance of the target class. */
+        CLASS,
+        /** Super class or super struct. */
+        SUPER,
+        /** Type of a property (class, struct, enum or delegate). */
+        FIELD,
+        /** Entry of {@code Class.Dependency}. */
+        DEPENDENCY
+    }
+
+    private final String[] names;
+    /** Package node of every node, or -1 if the node is only referenced. */
+    private final int[] definedIn;
+    private final boolean[] isPackage;
+    private final Map<String, Integer> ids;
+    private final int[] outStart;
+    private final int[] outTarget;
+    private final byte[] outKind;
+    private final int[] inStart;
+    private final int[] inSource;
+    private final byte[] inKind;
+
+    private ReferenceGraph(List<String> names, int[] definedIn, boolean[] isPackage, Map<String, Integer> ids,
+                           int[] from, int[] to, byte[] kind, int edgeCount) {
+        this.names = names.toArray(new String[0]);
+        this.definedIn = definedIn;
+        this.isPackage = isPackage;
+        this.ids = ids;
+
+        int n = this.names.length;
+        outStart = new int[n + 1];
+        inStart = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            outStart[from[e] + 1]++;
+            inStart[to[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            outStart[i + 1] += outStart[i];
+            inStart[i + 1] += inStart[i];
+        }
+        outTarget = new int[edgeCount];
+        outKind = new byte[edgeCount];
+        inSource = new int[edgeCount];
+        inKind = new byte[edgeCount];
+        int[] outFill = Arrays.copyOf(outStart, n);
+        int[] inFill = Arrays.copyOf(inStart, n);
+        for (int e = 0; e < edgeCount; e++) {
+            int o = outFill[from[e]]++;
+            outTarget[o] = to[e];
+            outKind[o] = kind[e];
+            int i = inFill[to[e]]++;
+            inSource[i] = from[e];
+            inKind[i] = kind[e];
+        }
+    }
+
+    /**
+     * Graph stored under {@code L2unreal.referenceGraph} (defaults to the temp
+     * dir; an empty value disables the snapshot).
+     */
+    public static ReferenceGraph build(Env environment) throws IOException {
+        String location = System.getProperty("L2unreal.referenceGraph",
+                Paths.get(System.getProperty("java.io.tmpdir"), "l2explorer", "references.l2xr").toString());
+        return build(environment, location.isEmpty() ? null : Paths.get(location));
+    }
+
+    /**
+     * Scans the packages of {@code environment}, reusing the edges of unchanged
+     * packages from {@code snapshot}, and writes the snapshot back.
+     *
+     * @param snapshot Snapshot file, or {@code null} to always scan everything.
+     */
+    public static ReferenceGraph build(Env environment, Path snapshot) throws IOException {
+        Objects.requireNonNull(environment, "Environment cannot be null");
+        Map<String, PackageEdges> previous = snapshot != null && Files.isRegularFile(snapshot)
+                ? readSnapshot(snapshot) : new HashMap<>();
+
+        List<PackageEdges> packages = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        for (File file : environment.listFiles().collect(Collectors.toList())) {
+            String name = file.getName();
+            int dot = name.lastIndexOf('.');
+            String packageName = dot == -1 ? name : name.substring(0, dot);
+            if (!seen.add(packageName.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            PackageEdges edges = previous.get(packageName.toLowerCase(Locale.ROOT));
+            if (edges == null || edges.size != file.length() || edges.modified != file.lastModified()) {
+                edges = scan(file, packageName);
+            }
+            if (edges != null) {
+                packages.add(edges);
+            }
+        }
+
+        if (snapshot != null) {
+            try {
+                writeSnapshot(packages, snapshot);
+            } catch (IOException e) {
+                log.log(Level.WARNING, e, () -> "Failed to write reference snapshot " + snapshot);
+            }
+        }
+        return assemble(packages);
+    }
+
+    private static ReferenceGraph assemble(List<PackageEdges> packages) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] definedIn = new int[64];
+        boolean[] isPackage = new boolean[64];
+        int edgeCount = 0;
+        for (PackageEdges p : packages) {
+            edgeCount += p.from.length;
+        }
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        byte[] kind = new byte[edgeCount];
+
+        int e = 0;
+        for (PackageEdges p : packages) {
+            int[] local = new int[p.names.length];
+            for (int i = 0; i < local.length; i++) {
+                String key = p.names[i].toLowerCase(Locale.ROOT);
+                Integer id = ids.get(key);
+                if (id == null) {
+                    id = names.size();
+                    ids.put(key, id);
+                    names.add(p.names[i]);
+                    if (id >= definedIn.length) {
+                        definedIn = Arrays.copyOf(definedIn, id * 2);
+                        isPackage = Arrays.copyOf(isPackage, id * 2);
+                    }
+                    definedIn[id] = -1;
+                }
+                local[i] = id;
+            }
+            // Local name 0 is the package itself, 1..exports are its exports
+            isPackage[local[0]] = true;
+            for (int i = 0; i <= p.exports; i++) {
+                definedIn[local[i]] = local[0];
+            }
+            for (int i = 0; i < p.from.length; i++, e++) {
+                from[e] = local[p.from[i]];
+                to[e] = local[p.to[i]];
+                kind[e] = p.kind[i];
+            }
+        }
+        int n = names.size();
+        return new ReferenceGraph(names, Arrays.copyOf(definedIn, n), Arrays.copyOf(isPackage, n), ids, from, to, kind, edgeCount);
+    }
+
+    /**
+     * Reads the references of one package from its tables and raw export data.
+     */
+    private static PackageEdges scan(File file, String packageName) {
+        long size = file.length();
+        long modified = file.lastModified();
+        try (UnrealPackage up = new UnrealPackage(file, true)) {
+            PackageScanner scanner = new PackageScanner(up, packageName);
+            scanner.scan();
+            return scanner.toEdges(size, modified);
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, e, () -> "Failed to scan references of " + file.getPath());
+            return null;
+        }
+    }
+
+    public int getNodeCount() {
+        return names.length;
+    }
+
+    public int getEdgeCount() {
+        return outTarget.length;
+    }
+
+    /**
+     * @return Full name of {@code node}, as first seen.
+     */
+    public String getName(int node) {
+        return names[node];
+    }
+
+    /**
+     * @return Node of {@code fullName} (case insensitive), or -1.
+     */
+    public int nodeOf(String fullName) {
+        Integer id = ids.get(fullName.toLowerCase(Locale.ROOT));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Packages whose import table contains {@code fullName}.
+     */
+    public List<String> importersOf(String fullName) {
+        List<String> result = new ArrayList<>();
+        int node = nodeOf(fullName);
+        if (node < 0) {
+            return result;
+        }
+        for (int i = inStart[node]; i < inStart[node + 1]; i++) {
+            if (inKind[i] == EdgeKind.IMPORT.ordinal()) {
+                result.add(names[inSource[i]]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Objects that directly refer to {@code fullName}, with any of {@code kinds}.
+     */
+    public List<String> referencesTo(String fullName, Set<EdgeKind> kinds) {
+        List<String> result = new ArrayList<>();
+        int node = nodeOf(fullName);
+        if (node < 0) {
+            return result;
+        }
+        for (int i = inStart[node]; i < inStart[node + 1]; i++) {
+            if (kinds == null || kinds.contains(EdgeKind.values()[inKind[i]])) {
+                result.add(names[inSource[i]]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Everything that may break if {@code fullName} changes: objects referring
+     * to it, the outers of those objects (through {@link EdgeKind#MEMBER}),
+     * their subclasses and so on. Packages
+     * are reported but not followed further, or every importer of a package
+     * would depend on all of it.
+     *
+     * @return Full names in breadth-first order, {@code fullName} excluded.
+     */
+    public List<String> dependentsOf(String fullName) {
+        List<String> result = new ArrayList<>();
+        int start = nodeOf(fullName);
+        if (start < 0) {
+            return result;
+        }
+        boolean[] visited = new boolean[names.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        visited[start] = true;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = inStart[node]; i < inStart[node + 1]; i++) {
+                int source = inSource[i];
+                if (!visited[source]) {
+                    visited[source] = true;
+                    result.add(names[source]);
+                    if (!isPackage[source]) {
+                        queue.add(source);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Packages ordered so that every package comes after the packages it
+     * imports from, e.g. to warm up an
+     * {@link org.l2explorer.unreal.UnrealSerializerFactory} without recursive
+     * loads. Packages in an import cycle are emitted in name order once nothing
+     * outside the cycle is pending.
+     */
+    public List<String> loadOrder() {
+        int n = names.length;
+        int[] packageIds = new int[n];
+        int[] slot = new int[n];
+        Arrays.fill(slot, -1);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (isPackage[i] && definedIn[i] == i) {
+                slot[i] = count;
+                packageIds[count++] = i;
+            }
+        }
+
+        // Package dependency edges: importer -> package defining the imported object
+        List<Set<Integer>> requires = new ArrayList<>(count);
+        List<List<Integer>> requiredBy = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            requires.add(new LinkedHashSet<>());
+            requiredBy.add(new ArrayList<>());
+        }
+        for (int p = 0; p < count; p++) {
+            int node = packageIds[p];
+            for (int i = outStart[node]; i < outStart[node + 1]; i++) {
+                if (outKind[i] != EdgeKind.IMPORT.ordinal()) {
+                    continue;
+                }
+                int owner = definedIn[outTarget[i]];
+                if (owner >= 0 && owner != node && requires.get(p).add(slot[owner])) {
+                    requiredBy.get(slot[owner]).add(p);
+                }
+            }
+        }
+
+        int[] pending = new int[count];
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) ->
+                String.CASE_INSENSITIVE_ORDER.compare(names[packageIds[a]], names[packageIds[b]]));
+        for (int p = 0; p < count; p++) {
+            pending[p] = requires.get(p).size();
+            if (pending[p] == 0) {
+                ready.add(p);
+            }
+        }
+        List<String> order = new ArrayList<>(count);
+        boolean[] done = new boolean[count];
+        while (order.size() < count) {
+            if (ready.isEmpty()) {
+                // Cycle: release the first remaining package by name
+                int next = -1;
+                for (int p = 0; p < count; p++) {
+                    if (!done[p] && (next < 0 || String.CASE_INSENSITIVE_ORDER.compare(names[packageIds[p]], names[packageIds[next]]) < 0)) {
+                        next = p;
+                    }
+                }
+                pending[next] = 0;
+                ready.add(next);
+            }
+            int p = ready.poll();
+            if (done[p]) {
+                continue;
+            }
+            done[p] = true;
+            order.add(names[packageIds[p]]);
+            for (int dependent : requiredBy.get(p)) {
+                if (!done[dependent] && --pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private static void writeSnapshot(List<PackageEdges> packages, Path target) throws IOException {
+        AtomicFiles.write(target, ".tmp", temp -> {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeInt(packages.size());
+                for (PackageEdges p : packages) {
+                    out.writeUTF(p.packageName);
+                    out.writeLong(p.size);
+                    out.writeLong(p.modified);
+                    out.writeInt(p.exports);
+                    out.writeInt(p.names.length);
+                    for (String name : p.names) {
+                        out.writeUTF(name);
+                    }
+                    out.writeInt(p.from.length);
+                    for (int i = 0; i < p.from.length; i++) {
+                        out.writeInt(p.from[i]);
+                        out.writeInt(p.to[i]);
+                        out.writeByte(p.kind[i]);
+                    }
+                }
+            }
+        });
+    }
+
+    private static Map<String, PackageEdges> readSnapshot(Path file) {
+        Map<String, PackageEdges> result = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                return result;
+            }
+            for (int count = in.readInt(); count > 0; count--) {
+                String packageName = in.readUTF();
+                long size = in.readLong();
+                long modified = in.readLong();
+                int exports = in.readInt();
+                String[] names = new String[in.readInt()];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = in.readUTF();
+                }
+                int edges = in.readInt();
+                int[] from = new int[edges];
+                int[] to = new int[edges];
+                byte[] kind = new byte[edges];
+                for (int i = 0; i < edges; i++) {
+                    from[i] = in.readInt();
+                    to[i] = in.readInt();
+                    kind[i] = in.readByte();
+                }
+                result.put(packageName.toLowerCase(Locale.ROOT),
+                        new PackageEdges(packageName, size, modified, exports, names, from, to, kind));
+            }
+        } catch (IOException e) {
+            log.log(Level.FINE, e, () -> "Discarding unreadable reference snapshot " + file);
+            result.clear();
+        }
+        return result;
+    }
+
+    /**
+     * Edges of one package over package-local names: name 0 is the package,
+     * names {@code 1..exports} are its exports in table order.
+     */
+    private static final class PackageEdges {
+        final String packageName;
+        final long size;
+        final long modified;
+        final int exports;
+        final String[] names;
+        final int[] from;
+        final int[] to;
+        final byte[] kind;
+
+        PackageEdges(String packageName, long size, long modified, int exports, String[] names,
+                     int[] from, int[] to, byte[] kind) {
+            this.packageName = packageName;
+            this.size = size;
+            this.modified = modified;
+            this.exports = exports;
+            this.names = names;
+            this.from = from;
+            this.to = to;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Collects the references of one package.
+     */
+    private static final class PackageScanner {
+        private final UnrealPackage up;
+        private final String packageName;
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> local = new HashMap<>();
+        private int[] from = new int[256];
+        private int[] to = new int[256];
+        private byte[] kind = new byte[256];
+        private int edges;
+        private TokenSerializerFactory tokenSerializerFactory;
+
+        PackageScanner(UnrealPackage up, String packageName) {
+            this.up = up;
+            this.packageName = packageName;
+            node(packageName);
+            // Exports keep their table position even if two share a full name
+            for (UnrealPackage.ExportEntry entry : up.getExportTable()) {
+                local.putIfAbsent(entry.getObjectFullName().toLowerCase(Locale.ROOT), names.size());
+                names.add(entry.getObjectFullName());
+            }
+        }
+
+        void scan() {
+            for (UnrealPackage.ImportEntry entry : up.getImportTable()) {
+                edge(0, node(entry.getObjectFullName()), EdgeKind.IMPORT);
+            }
+            for (UnrealPackage.ExportEntry entry : up.getExportTable()) {
+                int node = entry.getIndex() + 1;
+                UnrealPackage.Entry<?> outer = entry.getObjectPackage();
+                edge(outer == null ? 0 : reference(outer), node, EdgeKind.MEMBER);
+                UnrealPackage.Entry<?> clazz = entry.getObjectClass();
+                if (clazz != null) {
+                    edge(node, reference(clazz), EdgeKind.CLASS);
+                }
+                UnrealPackage.Entry<?> superClass = entry.getObjectSuperClass();
+                if (superClass != null) {
+                    edge(node, reference(superClass), EdgeKind.SUPER);
+                }
+                String className = entry.getFullClassName();
+                if (className.regionMatches(true, 0, "Core.", 0, 5)) {
+                    try {
+                        scanScriptObject(entry, node, className.substring(5));
+                    } catch (IOException | RuntimeException e) {
+                        log.log(Level.FINE, e, () -> "Stopped reading references of " + entry.getObjectFullName());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Follows the serialized layout of {@code Field} and its subclasses up to
+         * the first reference that cannot be reached without a full decode.
+         */
+        private void scanScriptObject(UnrealPackage.ExportEntry entry, int node, String className) throws IOException {
+            boolean isClass = className.equalsIgnoreCase("Class");
+            boolean isStruct = isClass || className.equalsIgnoreCase("Struct") || className.equalsIgnoreCase("State")
+                    || className.equalsIgnoreCase("Function");
+            boolean isProperty = className.endsWith("Property");
+            if (!isStruct && !isProperty && !className.equalsIgnoreCase("Enum") && !className.equalsIgnoreCase("Const")) {
+                return;
+            }
+
+            byte[] raw = entry.getObjectRawData();
+            L2DataInput input = L2DataInput.dataInput(new ByteArrayInputStream(raw), up.getFile().getCharset());
+            if ((entry.getObjectFlags() & HAS_STACK) != 0) {
+                input.readCompactInt();
+                input.readCompactInt();
+                input.readLong();
+                input.readInt();
+                input.readCompactInt();
+            }
+            if (!isClass && !"None".equalsIgnoreCase(up.nameReference(input.readCompactInt()))) {
+                // Tagged properties on a script object: would need the property decoder
+                return;
+            }
+
+            // Field
+            reference(input.readCompactInt(), node, EdgeKind.SUPER);
+            input.readCompactInt();
+
+            if (isProperty) {
+                input.readUnsignedShort();
+                input.readUnsignedShort();
+                int flags = input.readInt();
+                input.readCompactInt();
+                if ((flags & PROPERTY_NET) != 0) {
+                    input.readUnsignedShort();
+                }
+                switch (className.toLowerCase(Locale.ROOT)) {
+                    case "classproperty" -> {
+                        reference(input.readCompactInt(), node, EdgeKind.FIELD);
+                        reference(input.readCompactInt(), node, EdgeKind.FIELD);
+                    }
+                    case "objectproperty", "structproperty", "byteproperty", "delegateproperty" ->
+                            reference(input.readCompactInt(), node, EdgeKind.FIELD);
+                    default -> {
+                    }
+                }
+                return;
+            }
+            if (!isClass) {
+                return;
+            }
+
+            // Struct
+            input.readCompactInt();
+            input.readCompactInt();
+            input.readCompactInt();
+            input.readCompactInt();
+            input.readInt();
+            input.readInt();
+            int scriptSize = input.readInt();
+            if (scriptSize > 0) {
+                if (tokenSerializerFactory == null) {
+                    tokenSerializerFactory = new TokenSerializerFactory();
+                }
+                ObjectInput<BytecodeContext> tokens = ObjectInput.objectInput(input, tokenSerializerFactory, new BytecodeContext(up));
+                BytecodeDecoder.readScript(tokens, scriptSize);
+            }
+            // State
+            input.readLong();
+            input.readLong();
+            input.readUnsignedShort();
+            input.readInt();
+            // Class
+            input.readInt();
+            input.skip(16);
+            for (int count = input.readCompactInt(); count > 0; count--) {
+                int dependency = input.readCompactInt();
+                input.readInt();
+                input.readInt();
+                UnrealPackage.Entry<?> target = up.objectReference(dependency);
+                if (target != null && reference(target) != node) {
+                    edge(node, reference(target), EdgeKind.DEPENDENCY);
+                }
+            }
+        }
+
+        private void reference(int ref, int node, EdgeKind edgeKind) {
+            UnrealPackage.Entry<?> target = up.objectReference(ref);
+            if (target != null) {
+                edge(node, reference(target), edgeKind);
+            }
+        }
+
+        private int reference(UnrealPackage.Entry<?> entry) {
+            return entry instanceof UnrealPackage.ExportEntry export ? export.getIndex() + 1 : node(entry.getObjectFullName());
+        }
+
+        private int node(String fullName) {
+            Integer id = local.get(fullName.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                id = names.size();
+                names.add(fullName);
+                local.put(fullName.toLowerCase(Locale.ROOT), id);
+            }
+            return id;
+        }
+
+        private void edge(int source, int target, EdgeKind edgeKind) {
+            if (edges == from.length) {
+                from = Arrays.copyOf(from, edges * 2);
+                to = Arrays.copyOf(to, edges * 2);
+                kind = Arrays.copyOf(kind, edges * 2);
+            }
+            from[edges] = source;
+            to[edges] = target;
+            kind[edges] = (byte) edgeKind.ordinal();
+            edges++;
+        }
+
+        PackageEdges toEdges(long size, long modified) {
+            return new PackageEdges(packageName, size, modified, up.getExportTable().size(),
+                    names.toArray(new String[0]), Arrays.copyOf(from, edges), Arrays.copyOf(to, edges),
+                    Arrays.copyOf(kind, edges));
+        }
+    }
+
+    /**
+     * Command line entry point.
+     * <p>Usage: {@code ReferenceGraph <L2.ini> [importers|dependents] [full name]}</p>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReferenceGraph <L2.ini> [importers|dependents] [full name]");
+            return;
+        }
+        long start = System.nanoTime();
+        ReferenceGraph graph = build(Environment.fromIni(new File(args[0])));
+        log.info(String.format("%d nodes, %d edges in %.1f s", graph.getNodeCount(), graph.getEdgeCount(),
+                (System.nanoTime() - start) / 1e9));
+        if (args.length < 3) {
+            log.info("Load order: " + graph.loadOrder());
+        } else if (args[1].equalsIgnoreCase("importers")) {
+            graph.importersOf(args[2]).forEach(log::info);
+        } else {
+            graph.dependentsOf(args[2]).forEach(log::info);
+        }
+    }
+}
@@ -0,0 +1,509 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.unreal.Env;
+import org.l2explorer.unreal.Environment;
+import org.l2explorer.utils.AtomicFiles;
+import org.l2explorer.utils.unreal.DecompilerSession;
+import org.l2explorer.utils.unreal.UnrealDecompiler;
+
+/**
+ * Inverted index over the packages of an {@link Env}.
+ * <p>Every package gets its own segment file holding its documents (name
+ * table strings, export full names with their classes, import full names and,
+ * optionally, decompiled class sources) and a sorted term dictionary with
+ * delta-encoded postings. {@link #update()} only rebuilds segments whose
+ * package file changed size or modification time, and drops segments of
+ * packages that disappeared, so keeping the index current after a client
+ * update costs one pass over the changed packages only.</p>
+ * <p>Terms are lower-cased identifiers: a document {@code UICommonAPI.GetWindowHandle}
+ * is found by {@code uicommonapi}, {@code getwindowhandle} or both. The last
+ * query term also matches as a prefix.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class SearchIndex {
+    private static final Logger log = Logger.getLogger(SearchIndex.class.getName());
+
+    private static final int MAGIC = 0x5358324C; // "L2XS"
+    /** Bumped when the segment layout or the tokenizer changes. */
+    private static final int FORMAT = 1;
+    private static final String SEGMENT_EXTENSION = ".l2xs";
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final String CLASS = "Core.Class";
+
+    /**
+     * What a document was taken from.
+     */
+    public enum Kind {
+        NAME,
+        EXPORT,
+        IMPORT,
+        SCRIPT
+    }
+
+    private final Env environment;
+    private final Path directory;
+    private final boolean indexScripts;
+    private final Map<String, Segment> segments = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * @param environment  Packages to index.
+     * @param directory    Where segment files are kept.
+     * @param indexScripts Also index decompiled class sources (slow on first run).
+     */
+    public SearchIndex(Env environment, Path directory, boolean indexScripts) {
+        this.environment = Objects.requireNonNull(environment, "Environment cannot be null");
+        this.directory = Objects.requireNonNull(directory, "Index directory cannot be null");
+        this.indexScripts = indexScripts;
+    }
+
+    /**
+     * Index stored under {@code L2unreal.searchIndex} (defaults to the temp dir).
+     */
+    public SearchIndex(Env environment, boolean indexScripts) {
+        this(environment, Paths.get(System.getProperty("L2unreal.searchIndex",
+                Paths.get(System.getProperty("java.io.tmpdir"), "l2explorer", "search").toString())), indexScripts);
+    }
+
+    /**
+     * Brings the index in line with the environment.
+     *
+     * @return Names of the packages whose segment was rebuilt.
+     */
+    public synchronized List<String> update() throws IOException {
+        Files.createDirectories(directory);
+        List<String> rebuilt = new ArrayList<>();
+        Set<String> present = new HashSet<>();
+
+        for (File file : environment.listFiles().collect(Collectors.toList())) {
+            String packageName = packageName(file);
+            if (!present.add(packageName.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            Path segmentFile = directory.resolve(packageName.toLowerCase(Locale.ROOT) + SEGMENT_EXTENSION);
+
+            Segment segment = segments.get(packageName);
+            if (segment == null && Files.isRegularFile(segmentFile)) {
+                segment = readSegment(segmentFile);
+            }
+            if (segment == null || !segment.isCurrent(file, indexScripts)) {
+                segment = buildSegment(file, packageName);
+                if (segment == null) {
+                    continue;
+                }
+                writeSegment(segment, segmentFile);
+                rebuilt.add(packageName);
+            }
+            segments.put(packageName, segment);
+        }
+
+        // Packages removed from the client
+        segments.keySet().removeIf(name -> !present.contains(name.toLowerCase(Locale.ROOT)));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_EXTENSION)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (!present.contains(name.substring(0, name.length() - SEGMENT_EXTENSION.length()))) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Documents containing every term of {@code query}.
+     *
+     * @param kinds Kinds of documents to consider, or {@code null} for all.
+     * @param limit Maximum number of hits.
+     */
+    public synchronized List<Hit> search(String query, Set<Kind> kinds, int limit) {
+        List<String> terms = tokenize(query);
+        List<Hit> hits = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return hits;
+        }
+        for (Segment segment : segments.values()) {
+            for (int doc : segment.match(terms)) {
+                Kind kind = Kind.values()[segment.kinds[doc]];
+                if (kinds == null || kinds.contains(kind)) {
+                    hits.add(new Hit(segment.packageName, kind, segment.docs[doc]));
+                    if (hits.size() >= limit) {
+                        return hits;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Packages importing the object {@code fullName} (e.g. {@code Interface.UICommonAPI.GetWindowHandle}).
+     */
+    public synchronized Set<String> packagesReferencing(String fullName) {
+        Set<String> result = new LinkedHashSet<>();
+        List<String> terms = tokenize(fullName);
+        for (Segment segment : segments.values()) {
+            for (int doc : segment.match(terms)) {
+                if (segment.kinds[doc] == Kind.IMPORT.ordinal() && segment.docs[doc].toLowerCase(Locale.ROOT)
+                        .endsWith(fullName.toLowerCase(Locale.ROOT))) {
+                    result.add(segment.packageName);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    static List<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        Matcher matcher = IDENTIFIER.matcher(text);
+        while (matcher.find()) {
+            terms.add(matcher.group().toLowerCase(Locale.ROOT));
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static String packageName(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot == -1 ? name : name.substring(0, dot);
+    }
+
+    private Segment buildSegment(File file, String packageName) {
+        List<String> docs = new ArrayList<>();
+        List<Kind> kinds = new ArrayList<>();
+        Map<String, List<Integer>> postings = new HashMap<>();
+        long size = file.length();
+        long modified = file.lastModified();
+
+        try (UnrealPackage up = new UnrealPackage(file, true)) {
+            for (UnrealPackage.NameEntry name : up.getNameTable()) {
+                addDocument(docs, kinds, postings, Kind.NAME, name.getName(), name.getName());
+            }
+            for (UnrealPackage.ImportEntry entry : up.getImportTable()) {
+                String text = entry.getObjectFullName();
+                addDocument(docs, kinds, postings, Kind.IMPORT, text, text);
+            }
+            for (UnrealPackage.ExportEntry entry : up.getExportTable()) {
+                String text = entry.getObjectFullName() + " : " + entry.getFullClassName();
+                addDocument(docs, kinds, postings, Kind.EXPORT, text, text);
+            }
+            if (indexScripts) {
+                try (DecompilerSession session = new DecompilerSession(up, environment)) {
+                    UnrealDecompiler decompiler = new UnrealDecompiler(session);
+                    for (UnrealPackage.ExportEntry entry : up.getExportTable()) {
+                        if (!CLASS.equalsIgnoreCase(entry.getFullClassName())) {
+                            continue;
+                        }
+                        try {
+                            addDocument(docs, kinds, postings, Kind.SCRIPT, entry.getObjectFullName(),
+                                    decompiler.decompileClassComplete(entry));
+                        } catch (IOException | RuntimeException e) {
+                            log.log(Level.FINE, e, () -> "Skipping script of " + entry.getObjectFullName());
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, e, () -> "Failed to index " + file.getPath());
+            return null;
+        }
+
+        String[] terms = postings.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[] postingStart = new int[terms.length + 1];
+        int total = 0;
+        for (int t = 0; t < terms.length; t++) {
+            postingStart[t] = total;
+            total += postings.get(terms[t]).size();
+        }
+        postingStart[terms.length] = total;
+        int[] flat = new int[total];
+        for (int t = 0, p = 0; t < terms.length; t++) {
+            for (int doc : postings.get(terms[t])) {
+                flat[p++] = doc;
+            }
+        }
+        byte[] kindArray = new byte[kinds.size()];
+        for (int i = 0; i < kindArray.length; i++) {
+            kindArray[i] = (byte) kinds.get(i).ordinal();
+        }
+        return new Segment(packageName, size, modified, indexScripts, docs.toArray(new String[0]), kindArray, terms, postingStart, flat);
+    }
+
+    private static void addDocument(List<String> docs, List<Kind> kinds, Map<String, List<Integer>> postings,
+                                    Kind kind, String text, String content) {
+        int doc = docs.size();
+        docs.add(text);
+        kinds.add(kind);
+        for (String term : tokenize(content)) {
+            postings.computeIfAbsent(term, _ -> new ArrayList<>()).add(doc);
+        }
+    }
+
+    private static void writeSegment(Segment segment, Path target) throws IOException {
+        AtomicFiles.write(target, ".tmp", temp -> {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeUTF(segment.packageName);
+                out.writeLong(segment.size);
+                out.writeLong(segment.modified);
+                out.writeBoolean(segment.scripts);
+
+                out.writeInt(segment.docs.length);
+                for (int i = 0; i < segment.docs.length; i++) {
+                    out.writeByte(segment.kinds[i]);
+                    out.writeUTF(segment.docs[i]);
+                }
+                out.writeInt(segment.terms.length);
+                for (int t = 0; t < segment.terms.length; t++) {
+                    out.writeUTF(segment.terms[t]);
+                    int from = segment.postingStart[t];
+                    int to = segment.postingStart[t + 1];
+                    writeVarInt(out, to - from);
+                    for (int p = from, previous = 0; p < to; p++) {
+                        writeVarInt(out, segment.postings[p] - previous);
+                        previous = segment.postings[p];
+                    }
+                }
+            }
+        });
+    }
+
+    private static Segment readSegment(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                return null;
+            }
+            String packageName = in.readUTF();
+            long size = in.readLong();
+            long modified = in.readLong();
+            boolean scripts = in.readBoolean();
+
+            int docCount = in.readInt();
+            String[] docs = new String[docCount];
+            byte[] kinds = new byte[docCount];
+            for (int i = 0; i < docCount; i++) {
+                kinds[i] = in.readByte();
+                docs[i] = in.readUTF();
+            }
+            int termCount = in.readInt();
+            String[] terms = new String[termCount];
+            int[] postingStart = new int[termCount + 1];
+            int[] postings = new int[Math.max(16, docCount)];
+            int total = 0;
+            for (int t = 0; t < termCount; t++) {
+                terms[t] = in.readUTF();
+                postingStart[t] = total;
+                int count = readVarInt(in);
+                if (total + count > postings.length) {
+                    postings = Arrays.copyOf(postings, Math.max(postings.length * 2, total + count));
+                }
+                for (int p = 0, previous = 0; p < count; p++) {
+                    previous += readVarInt(in);
+                    postings[total++] = previous;
+                }
+            }
+            postingStart[termCount] = total;
+            return new Segment(packageName, size, modified, scripts, docs, kinds, terms, postingStart, Arrays.copyOf(postings, total));
+        } catch (IOException e) {
+            log.log(Level.FINE, e, () -> "Discarding unreadable segment " + file);
+            return null;
+        }
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Truncated segment");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Index data of one package.
+     */
+    private static final class Segment {
+        final String packageName;
+        final long size;
+        final long modified;
+        final boolean scripts;
+        final String[] docs;
+        final byte[] kinds;
+        final String[] terms;
+        final int[] postingStart;
+        final int[] postings;
+
+        Segment(String packageName, long size, long modified, boolean scripts, String[] docs, byte[] kinds,
+                String[] terms, int[] postingStart, int[] postings) {
+            this.packageName = packageName;
+            this.size = size;
+            this.modified = modified;
+            this.scripts = scripts;
+            this.docs = docs;
+            this.kinds = kinds;
+            this.terms = terms;
+            this.postingStart = postingStart;
+            this.postings = postings;
+        }
+
+        boolean isCurrent(File file, boolean indexScripts) {
+            return size == file.length() && modified == file.lastModified() && (scripts || !indexScripts);
+        }
+
+        /**
+         * Documents containing all terms; the last one may be a prefix.
+         */
+        Set<Integer> match(List<String> query) {
+            Set<Integer> result = null;
+            for (int q = 0; q < query.size(); q++) {
+                String term = query.get(q);
+                Set<Integer> docsOfTerm = new TreeSet<>();
+                int t = Arrays.binarySearch(terms, term);
+                if (t >= 0) {
+                    addPostings(t, docsOfTerm);
+                } else if (q == query.size() - 1) {
+                    for (int i = -t - 1; i < terms.length && terms[i].startsWith(term); i++) {
+                        addPostings(i, docsOfTerm);
+                    }
+                }
+                if (result == null) {
+                    result = docsOfTerm;
+                } else {
+                    result.retainAll(docsOfTerm);
+                }
+                if (result.isEmpty()) {
+                    return Collections.emptySet();
+                }
+            }
+            return result == null ? Collections.emptySet() : result;
+        }
+
+        private void addPostings(int term, Set<Integer> target) {
+            for (int p = postingStart[term]; p < postingStart[term + 1]; p++) {
+                target.add(postings[p]);
+            }
+        }
+    }
+
+    /**
+     * A matching document.
+     */
+    public static final class Hit {
+        private final String packageName;
+        private final Kind kind;
+        private final String text;
+
+        Hit(String packageName, Kind kind, String text) {
+            this.packageName = packageName;
+            this.kind = kind;
+            this.text = text;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /** Name, full name (with class for exports) or, for scripts, the class full name. */
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return packageName + " [" + kind + "] " + text;
+        }
+    }
+
+    /**
+     * Command line entry point.
+     * <p>Usage: {@code SearchIndex <L2.ini> <query> [scripts]}</p>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SearchIndex <L2.ini> <query> [scripts]");
+            return;
+        }
+        SearchIndex index = new SearchIndex(Environment.fromIni(new File(args[0])),
+                args.length > 2 && Boolean.parseBoolean(args[2]));
+        long start = System.nanoTime();
+        List<String> rebuilt = index.update();
+        log.info(String.format("%d segments rebuilt in %.1f s", rebuilt.size(), (System.nanoTime() - start) / 1e9));
+        index.search(args[1], EnumSet.allOf(Kind.class), 200).forEach(hit -> log.info(hit::toString));
+    }
+}
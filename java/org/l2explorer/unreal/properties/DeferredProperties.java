@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.properties;
+
+import org.l2explorer.io.ObjectInput;
+import org.l2explorer.io.ObjectInputStream;
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.unreal.UnrealException;
+import org.l2explorer.unreal.UnrealRuntimeContext;
+import org.l2explorer.unreal.UnrealSerializerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+/**
+ * Byte range of a serialized property list that has not been decoded yet.
+ * <p>Used for class default properties, which are only parsed when someone
+ * actually asks for them.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class DeferredProperties {
+    private final UnrealSerializerFactory serializer;
+    private final UnrealPackage.ExportEntry entry;
+    private final String objClass;
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+
+    /**
+     * @param serializer factory used to resolve property templates
+     * @param entry      export that owns the properties
+     * @param objClass   struct or class whose layout describes the list
+     * @param data       raw object data
+     * @param offset     start of the property list in {@code data}
+     * @param length     length of the property list
+     */
+    public DeferredProperties(UnrealSerializerFactory serializer, UnrealPackage.ExportEntry entry, String objClass,
+                              byte[] data, int offset, int length) {
+        this.serializer = serializer;
+        this.entry = entry;
+        this.objClass = objClass;
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public String getObjectClass() {
+        return objClass;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    private ObjectInput<UnrealRuntimeContext> input() {
+        return new ObjectInputStream<>(
+                new ByteArrayInputStream(data, offset, length),
+                entry.getUnrealPackage().getFile().getCharset(),
+                entry.getOffset() + offset,
+                serializer,
+                new UnrealRuntimeContext(entry, serializer));
+    }
+
+    public List<L2Property> readAll() throws UnrealException {
+        return PropertiesUtil.readProperties(input(), objClass);
+    }
+
+    /**
+     * @return the named property, or null if the list does not contain it
+     */
+    public L2Property read(String propertyName) throws UnrealException {
+        return PropertiesUtil.readProperty(input(), objClass, propertyName);
+    }
+}
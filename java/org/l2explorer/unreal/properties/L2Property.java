@@ -22,6 +22,12 @@
  */
 package org.l2explorer.unreal.properties;
 
+import org.l2explorer.unreal.core.BoolProperty;
+import org.l2explorer.unreal.core.ByteProperty;
+import org.l2explorer.unreal.core.FloatProperty;
+import org.l2explorer.unreal.core.IntProperty;
+import org.l2explorer.unreal.core.NameProperty;
+import org.l2explorer.unreal.core.ObjectProperty;
 import org.l2explorer.unreal.core.Property;
 import org.l2explorer.unreal.core.StructProperty;
 
@@ -31,18 +37,33 @@ import java.util.Objects;
 
 /**
  * Represents a runtime instance of an Unreal Property in Lineage II.
- * <p>Uses java.lang.Object for the value array to avoid conflicts with 
- * the Unreal Object class.</p>
+ * <p>Numeric, name/object reference and bool values are kept unboxed in typed
+ * columns; strings, arrays and structs use a java.lang.Object array (avoiding
+ * conflicts with the Unreal Object class). {@link #getAt(int)} and
+ * {@link #putAt(int, java.lang.Object)} remain a boxed view over both.</p>
  *
  * @author acmi (Original Code)
  * @author Galagard (L2Explorer Modernization & Java 25 Port)
  * @since 13-01-2026
  */
 public final class L2Property {
+    private static final int KIND_INT = 0;
+    private static final int KIND_FLOAT = 1;
+    private static final int KIND_BOOL = 2;
+    private static final int KIND_OBJECT = 3;
+
     private final Property template;
-    
-    /** * Explicit use of java.lang.Object to store primitive wrappers, 
-     * Strings, and Lists without type conflicts.
+    private final int kind;
+    private final int size;
+
+    /** Byte, int, object and name values; bool values as 0/1. */
+    private final int[] ints;
+    private final float[] floats;
+    /** Presence bits for the primitive columns (unset elements read as null). */
+    private final long[] present;
+
+    /** * Explicit use of java.lang.Object to store Strings, Lists and structs
+     * without type conflicts.
      */
     private final java.lang.Object[] value;
 
@@ -51,7 +72,26 @@ public final class L2Property {
             throw new NullPointerException("Property template cannot be null");
         }
         this.template = template;
-        this.value = new java.lang.Object[template.getArrayDimension()];
+        this.size = template.getArrayDimension();
+        this.kind = kindOf(template);
+        this.ints = (kind == KIND_INT || kind == KIND_BOOL) ? new int[size] : null;
+        this.floats = kind == KIND_FLOAT ? new float[size] : null;
+        this.present = kind != KIND_OBJECT ? new long[(size + 63) >>> 6] : null;
+        this.value = kind == KIND_OBJECT ? new java.lang.Object[size] : null;
+    }
+
+    private static int kindOf(Property template) {
+        if (template instanceof ByteProperty || template instanceof IntProperty ||
+                template instanceof ObjectProperty || template instanceof NameProperty) {
+            return KIND_INT;
+        }
+        if (template instanceof FloatProperty) {
+            return KIND_FLOAT;
+        }
+        if (template instanceof BoolProperty) {
+            return KIND_BOOL;
+        }
+        return KIND_OBJECT;
     }
 
     public String getName() {
@@ -59,37 +99,137 @@ public final class L2Property {
     }
 
     public int getSize() {
-        return value.length;
+        return size;
+    }
+
+    /**
+     * @return true if a value is stored at the index.
+     */
+    public boolean isSet(int index) {
+        if (kind == KIND_OBJECT) {
+            return value[index] != null;
+        }
+        Objects.checkIndex(index, size);
+        return (present[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void mark(int index, boolean set) {
+        Objects.checkIndex(index, size);
+        if (set) {
+            present[index >>> 6] |= 1L << index;
+        } else {
+            present[index >>> 6] &= ~(1L << index);
+        }
     }
 
     /**
-     * @return The value as a java.lang.Object.
+     * @return The value as a java.lang.Object (boxed for primitive columns).
      */
     public java.lang.Object getAt(int index) {
-        return value[index];
+        if (kind == KIND_OBJECT) {
+            return value[index];
+        }
+        if (!isSet(index)) {
+            return null;
+        }
+        return switch (kind) {
+            case KIND_INT -> ints[index];
+            case KIND_FLOAT -> floats[index];
+            default -> ints[index] != 0;
+        };
     }
 
     public void putAt(int index, java.lang.Object value) {
-        this.value[index] = value;
+        if (kind == KIND_OBJECT) {
+            this.value[index] = value;
+            return;
+        }
+        if (value == null) {
+            mark(index, false);
+            if (ints != null) ints[index] = 0;
+            if (floats != null) floats[index] = 0f;
+            return;
+        }
+        switch (kind) {
+            case KIND_INT -> ints[index] = ((Number) value).intValue();
+            case KIND_FLOAT -> floats[index] = ((Number) value).floatValue();
+            default -> ints[index] = ((Boolean) value) ? 1 : 0;
+        }
+        mark(index, true);
+    }
+
+    /**
+     * Unboxed read for byte, int, object and name properties.
+     */
+    public int getInt(int index) {
+        checkKind(KIND_INT);
+        return ints[index];
+    }
+
+    public void putInt(int index, int value) {
+        checkKind(KIND_INT);
+        ints[index] = value;
+        mark(index, true);
+    }
+
+    public float getFloat(int index) {
+        checkKind(KIND_FLOAT);
+        return floats[index];
+    }
+
+    public void putFloat(int index, float value) {
+        checkKind(KIND_FLOAT);
+        floats[index] = value;
+        mark(index, true);
+    }
+
+    public boolean getBoolean(int index) {
+        checkKind(KIND_BOOL);
+        return ints[index] != 0;
+    }
+
+    public void putBoolean(int index, boolean value) {
+        checkKind(KIND_BOOL);
+        ints[index] = value ? 1 : 0;
+        mark(index, true);
+    }
+
+    private void checkKind(int expected) {
+        if (kind != expected) {
+            throw new IllegalStateException(getName() + " is not stored as " + switch (expected) {
+                case KIND_INT -> "int";
+                case KIND_FLOAT -> "float";
+                default -> "bool";
+            });
+        }
     }
 
     public L2Property copy() {
         L2Property copy = new L2Property(template);
         boolean primitive = PropertiesUtil.isPrimitive(template);
-        boolean isStruct = template instanceof StructProperty;
 
-        for (int i = 0; i < getSize(); i++) {
-            java.lang.Object currentVal = getAt(i);
+        if (kind != KIND_OBJECT) {
+            if (primitive) {
+                if (ints != null) System.arraycopy(ints, 0, copy.ints, 0, size);
+                if (floats != null) System.arraycopy(floats, 0, copy.floats, 0, size);
+                System.arraycopy(present, 0, copy.present, 0, present.length);
+            }
+            return copy;
+        }
+
+        boolean isStruct = template instanceof StructProperty;
+        for (int i = 0; i < size; i++) {
+            java.lang.Object currentVal = value[i];
             if (currentVal == null) {
                 continue;
             }
 
             if (primitive) {
-                copy.putAt(i, currentVal);
+                copy.value[i] = currentVal;
             } else if (isStruct) {
                 @SuppressWarnings("unchecked")
                 List<L2Property> structVal = (List<L2Property>) currentVal;
-                copy.putAt(i, PropertiesUtil.cloneStruct(structVal));
+                copy.value[i] = PropertiesUtil.cloneStruct(structVal);
             }
         }
         return copy;
@@ -104,13 +244,19 @@ public final class L2Property {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         L2Property that = (L2Property) o;
-        return Objects.equals(template, that.template) && 
+        return Objects.equals(template, that.template) &&
+               Arrays.equals(present, that.present) &&
+               Arrays.equals(ints, that.ints) &&
+               Arrays.equals(floats, that.floats) &&
                Arrays.deepEquals(value, that.value);
     }
 
     @Override
     public int hashCode() {
         int result = Objects.hash(template);
+        result = 31 * result + Arrays.hashCode(present);
+        result = 31 * result + Arrays.hashCode(ints);
+        result = 31 * result + Arrays.hashCode(floats);
         result = 31 * result + Arrays.deepHashCode(value);
         return result;
     }
@@ -119,4 +265,4 @@ public final class L2Property {
     public String toString() {
         return "L2Property[" + template + "]";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.properties;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable lists of unboxed values used for dynamic array properties.
+ * <p>They implement {@code List<java.lang.Object>} so code written against the
+ * boxed {@code ArrayList} representation keeps working; boxing only happens
+ * when an element is accessed through the {@link java.util.List} interface.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public abstract class PrimitiveList extends AbstractList<java.lang.Object> implements RandomAccess {
+    protected int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    protected void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * List of {@code int} values (byte, int, object and name references).
+     */
+    public static final class OfInt extends PrimitiveList {
+        private int[] data;
+
+        public OfInt(int capacity) {
+            this.data = new int[Math.max(capacity, 1)];
+        }
+
+        public int getInt(int index) {
+            checkIndex(index);
+            return data[index];
+        }
+
+        public void setInt(int index, int value) {
+            checkIndex(index);
+            data[index] = value;
+        }
+
+        public void addInt(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+            modCount++;
+        }
+
+        @Override
+        public java.lang.Object get(int index) {
+            return getInt(index);
+        }
+
+        @Override
+        public java.lang.Object set(int index, java.lang.Object element) {
+            int old = getInt(index);
+            data[index] = ((Number) element).intValue();
+            return old;
+        }
+
+        @Override
+        public void add(int index, java.lang.Object element) {
+            checkPositionIndex(index);
+            int value = ((Number) element).intValue();
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            System.arraycopy(data, index, data, index + 1, size - index);
+            data[index] = value;
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public java.lang.Object remove(int index) {
+            int old = getInt(index);
+            System.arraycopy(data, index + 1, data, index, size - index - 1);
+            size--;
+            modCount++;
+            return old;
+        }
+    }
+
+    /**
+     * List of {@code float} values.
+     */
+    public static final class OfFloat extends PrimitiveList {
+        private float[] data;
+
+        public OfFloat(int capacity) {
+            this.data = new float[Math.max(capacity, 1)];
+        }
+
+        public float getFloat(int index) {
+            checkIndex(index);
+            return data[index];
+        }
+
+        public void setFloat(int index, float value) {
+            checkIndex(index);
+            data[index] = value;
+        }
+
+        public void addFloat(float value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+            modCount++;
+        }
+
+        @Override
+        public java.lang.Object get(int index) {
+            return getFloat(index);
+        }
+
+        @Override
+        public java.lang.Object set(int index, java.lang.Object element) {
+            float old = getFloat(index);
+            data[index] = ((Number) element).floatValue();
+            return old;
+        }
+
+        @Override
+        public void add(int index, java.lang.Object element) {
+            checkPositionIndex(index);
+            float value = ((Number) element).floatValue();
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            System.arraycopy(data, index, data, index + 1, size - index);
+            data[index] = value;
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public java.lang.Object remove(int index) {
+            float old = getFloat(index);
+            System.arraycopy(data, index + 1, data, index, size - index - 1);
+            size--;
+            modCount++;
+            return old;
+        }
+    }
+}
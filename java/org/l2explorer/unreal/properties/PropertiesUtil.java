@@ -11,14 +11,12 @@ import org.l2explorer.unreal.core.*;
 import org.l2explorer.unreal.core.Class;
 import org.l2explorer.io.*;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Utility class for managing Unreal Properties.
@@ -29,15 +27,45 @@ public class PropertiesUtil {
     private static final Logger log = Logger.getLogger(PropertiesUtil.class.getName());
 
     public static List<L2Property> readProperties(ObjectInput<UnrealRuntimeContext> objectInput, String objClass) throws UnrealException {
+        return readProperties(objectInput, objClass, null);
+    }
+
+    /**
+     * Reads a property list but decodes only the entries named {@code propertyName};
+     * every other value is skipped using its serialized size.
+     *
+     * @return the property, or null if it is not present in the list
+     */
+    public static L2Property readProperty(ObjectInput<UnrealRuntimeContext> objectInput, String objClass, String propertyName) throws UnrealException {
+        List<L2Property> properties = readProperties(objectInput, objClass, propertyName);
+        return properties.isEmpty() ? null : properties.get(0);
+    }
+
+    private static List<L2Property> readProperties(ObjectInput<UnrealRuntimeContext> objectInput, String objClass, String only) throws UnrealException {
         List<L2Property> properties = new ArrayList<>();
-        List<Property> classTemplate = null;
+        PropertyLayout layout = null;
+        L2Property[] slots = null;
         UnrealPackage up = objectInput.getContext().getUnrealPackage();
 
         try {
             String name;
             while (!(name = up.getNameTable().get(objectInput.readCompactInt()).getName()).equals("None")) {
-                if (classTemplate == null) {
-                    classTemplate = getPropertyFields(objectInput.getContext().getSerializer(), objClass).collect(Collectors.toList());
+                if (only != null && !name.equalsIgnoreCase(only)) {
+                    int info = objectInput.readUnsignedByte();
+                    if (getPropertyType(info) == Type.STRUCT) {
+                        objectInput.readCompactInt();
+                    }
+                    int size = readPropertySize(getPropertySizeType(info), objectInput);
+                    if (isArray(info) && getPropertyType(info) != Type.BOOL) {
+                        objectInput.readCompactInt();
+                    }
+                    objectInput.skip(size);
+                    continue;
+                }
+
+                if (layout == null) {
+                    layout = objectInput.getContext().getSerializer().getPropertyLayout(objClass);
+                    slots = new L2Property[layout.size()];
                 }
 
                 int info = objectInput.readUnsignedByte();
@@ -52,37 +80,22 @@ public class PropertiesUtil {
                 int size = readPropertySize(sizeType, objectInput);
                 int arrayIndex = (array && propertyType != Type.BOOL) ? objectInput.readCompactInt() : 0;
 
-                final String n = name;
-                L2Property property = getAt(properties, n);
-                if (property == null) {
-                    Property template = classTemplate.parallelStream()
-                            .filter(pt -> pt.getEntry().getObjectName().getName().equalsIgnoreCase(n))
-                            .filter(pt -> match(pt.getClass(), propertyType))
-                            .findAny()
-                            .orElse(null);
-
-                    if (template == null) {
-                        log.warning(() -> objClass + ": Property template not found: " + n);
-                    } else {
-                        property = new L2Property(template);
-                        properties.add(property);
-                    }
+                int slot = layout.indexOf(name, propertyType);
+                if (slot < 0) {
+                    final String n = name;
+                    log.warning(() -> objClass + ": Property template not found: " + n);
+                    objectInput.skip(size);
+                    continue;
                 }
 
-                if (property != null) {
-                    Struct struct = null;
-                    if (propertyType == Type.STRUCT) {
-                        struct = ((StructProperty) property.getTemplate()).getStruct();
-                    }
-                    Property arrayInner = null;
-                    if (propertyType == Type.ARRAY) {
-                        arrayInner = ((ArrayProperty) property.getTemplate()).getInner();
-                    }
-                    // O retorno de read() é java.lang.Object, compatível com putAt()
-                    property.putAt(arrayIndex, read(objectInput, propertyType, array, arrayInner, struct));
-                } else {
-                    objectInput.skip(size);
+                L2Property property = slots[slot];
+                if (property == null) {
+                    property = new L2Property(layout.getTemplate(slot));
+                    slots[slot] = property;
+                    properties.add(property);
                 }
+
+                readInto(property, arrayIndex, objectInput, propertyType, array, layout.getArrayInner(slot), layout.getStruct(slot));
             }
         } catch (Exception e) {
             throw new UnrealException("Failed to read properties for " + objClass, e);
@@ -90,6 +103,21 @@ public class PropertiesUtil {
         return properties;
     }
 
+    /**
+     * Reads a value straight into the typed storage of {@code property},
+     * without boxing byte/int/float/bool/reference values.
+     */
+    static void readInto(L2Property property, int index, ObjectInput<UnrealRuntimeContext> objBuffer, Type propertyType, boolean array, Property arrayInner, Struct struct) throws IOException {
+        switch (propertyType) {
+            case BYTE -> property.putInt(index, objBuffer.readUnsignedByte());
+            case INT -> property.putInt(index, objBuffer.readInt());
+            case BOOL -> property.putBoolean(index, array);
+            case FLOAT -> property.putFloat(index, objBuffer.readFloat());
+            case OBJECT, NAME -> property.putInt(index, objBuffer.readCompactInt());
+            default -> property.putAt(index, read(objBuffer, propertyType, array, arrayInner, struct));
+        }
+    }
+
     public static java.lang.Object read(ObjectInput<UnrealRuntimeContext> objBuffer, Type propertyType, boolean array, Property arrayInner, Struct struct) throws IOException {
         return switch (propertyType) {
             case BYTE -> Integer.valueOf(objBuffer.readUnsignedByte());
@@ -101,9 +129,31 @@ public class PropertiesUtil {
             case STRUCT -> readStruct(objBuffer, struct);
             case ARRAY -> {
                 int arraySize = objBuffer.readCompactInt();
+                Type innerType = getType(arrayInner);
+                switch (innerType) {
+                    case BYTE, INT, OBJECT, NAME -> {
+                        PrimitiveList.OfInt ints = new PrimitiveList.OfInt(arraySize);
+                        for (int i = 0; i < arraySize; i++) {
+                            ints.addInt(switch (innerType) {
+                                case BYTE -> objBuffer.readUnsignedByte();
+                                case INT -> objBuffer.readInt();
+                                default -> objBuffer.readCompactInt();
+                            });
+                        }
+                        yield ints;
+                    }
+                    case FLOAT -> {
+                        PrimitiveList.OfFloat floats = new PrimitiveList.OfFloat(arraySize);
+                        for (int i = 0; i < arraySize; i++) {
+                            floats.addFloat(objBuffer.readFloat());
+                        }
+                        yield floats;
+                    }
+                    default -> {
+                    }
+                }
                 // AQUI: List de java.lang.Object
                 List<java.lang.Object> arrayList = new ArrayList<>(arraySize);
-                Type innerType = getType(arrayInner);
                 Struct innerStruct = (innerType == Type.STRUCT) ? ((StructProperty) arrayInner).getStruct() : null;
                 Property innerArrayInner = (innerType == Type.ARRAY) ? ((ArrayProperty) arrayInner).getInner() : null;
                 for (int i = 0; i < arraySize; i++) {
@@ -124,51 +174,73 @@ public class PropertiesUtil {
     }
 
     public static List<L2Property> readStructBin(ObjectInput<UnrealRuntimeContext> objBuffer, String structName) throws IOException {
-        List<Property> properties = getPropertyFields(objBuffer.getContext().getSerializer(), structName).collect(Collectors.toList());
-        return properties.stream()
-                .map(L2Property::new)
-                .peek(l2p -> {
-                    try {
-                        l2p.putAt(0, read(objBuffer, getType(l2p.getTemplate()), false, null, null));
-                    } catch (IOException e) {
-                        throw new UncheckedIOException(e);
-                    }
-                }).collect(Collectors.toList());
+        PropertyLayout layout = objBuffer.getContext().getSerializer().getPropertyLayout(structName);
+        List<L2Property> properties = new ArrayList<>(layout.size());
+        for (int slot = 0; slot < layout.size(); slot++) {
+            L2Property l2p = new L2Property(layout.getTemplate(slot));
+            readInto(l2p, 0, objBuffer, layout.getType(slot), false, null, null);
+            properties.add(l2p);
+        }
+        return properties;
     }
 
     public static void writeProperties(ObjectOutput<UnrealRuntimeContext> output, List<L2Property> properties) throws IOException {
-        UnrealPackage up = output.getContext().getUnrealPackage();
+        if (output instanceof PropertyWriteBuffer buffer) {
+            // nested struct: keep writing into the enclosing buffer
+            writeProperties(buffer, properties);
+            return;
+        }
+        PropertyWriteBuffer buffer = new PropertyWriteBuffer(output);
+        writeProperties(buffer, properties);
+        buffer.writeTo(output);
+    }
+
+    private static void writeProperties(PropertyWriteBuffer buffer, List<L2Property> properties) throws IOException {
         for (L2Property property : properties) {
             Property template = property.getTemplate();
+            Type type = getType(template);
+            boolean resolved = false;
+            int nameRef = 0;
+            int structNameRef = 0;
             for (int i = 0; i < property.getSize(); i++) {
-                java.lang.Object obj = property.getAt(i);
-                if (obj == null) continue;
+                if (!property.isSet(i)) continue;
 
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ObjectOutput<UnrealRuntimeContext> objBuffer = new ObjectOutputStream<>(baos, output.getCharset(), 0, output.getSerializerFactory(), output.getContext());
-                write(objBuffer, template, obj);
-                byte[] bytes = baos.toByteArray();
+                if (!resolved) {
+                    nameRef = buffer.nameReference(template.getEntry().getObjectName().getName());
+                    if (type == Type.STRUCT) {
+                        structNameRef = buffer.nameReference(((StructProperty) template).getStruct().getEntry().getObjectName().getName());
+                    }
+                    resolved = true;
+                }
 
-                Type type = getType(template);
-                int sizeFlag = getPropertySizeFlag(bytes.length);
-                boolean isArray = (i > 0) || (type == Type.BOOL && (Boolean) obj);
-                int info = (isArray ? 0x80 : 0) | (sizeFlag << 4) | type.ordinal();
+                boolean isArray = (i > 0) || (type == Type.BOOL && property.getBoolean(i));
 
-                output.writeCompactInt(up.nameReference(template.getEntry().getObjectName().getName()));
-                output.writeByte(info);
+                buffer.writeCompactInt(nameRef);
+                int infoOffset = buffer.getPosition();
+                buffer.writeByte(0);
                 if (type == Type.STRUCT) {
-                    output.writeCompactInt(up.nameReference(((StructProperty) template).getStruct().getEntry().getObjectName().getName()));
+                    buffer.writeCompactInt(structNameRef);
                 }
-                switch (sizeFlag) {
-                    case 5 -> output.writeByte(bytes.length);
-                    case 6 -> output.writeShort(bytes.length);
-                    case 7 -> output.writeInt(bytes.length);
+                int sizeOffset = buffer.reserveSize();
+                if (i > 0) buffer.writeByte(i);
+                int valueStart = buffer.getPosition();
+
+                switch (type) {
+                    case BYTE -> buffer.writeByte(property.getInt(i));
+                    case INT -> buffer.writeInt(property.getInt(i));
+                    case BOOL -> {}
+                    case FLOAT -> buffer.writeFloat(property.getFloat(i));
+                    case OBJECT, NAME -> buffer.writeCompactInt(property.getInt(i));
+                    default -> write(buffer, template, property.getAt(i));
                 }
-                if (i > 0) output.writeByte(i);
-                output.writeBytes(bytes);
+
+                int size = buffer.getPosition() - valueStart;
+                int sizeFlag = getPropertySizeFlag(size);
+                buffer.patchSize(sizeOffset, sizeFlag, size);
+                buffer.putByte(infoOffset, (isArray ? 0x80 : 0) | (sizeFlag << 4) | type.ordinal());
             }
         }
-        output.writeCompactInt(up.nameReference("None"));
+        buffer.writeCompactInt(buffer.nameReference("None"));
     }
 
     public static void write(ObjectOutput<UnrealRuntimeContext> objBuffer, Property template, java.lang.Object obj) throws IOException {
@@ -216,11 +288,11 @@ public class PropertiesUtil {
     }
 
     private static int findPropInt(List<L2Property> s, String n) {
-        return s.stream().filter(p -> p.getName().equalsIgnoreCase(n)).mapToInt(p -> (Integer) p.getAt(0)).findAny().orElse(0);
+        return s.stream().filter(p -> p.getName().equalsIgnoreCase(n)).mapToInt(p -> p.getInt(0)).findAny().orElse(0);
     }
 
     private static float findPropFloat(List<L2Property> s, String n) {
-        return s.stream().filter(p -> p.getName().equalsIgnoreCase(n)).map(p -> (Float) p.getAt(0)).findAny().orElse(0f);
+        return s.stream().filter(p -> p.getName().equalsIgnoreCase(n)).map(p -> p.getFloat(0)).findAny().orElse(0f);
     }
 
     public enum Type {
@@ -267,20 +339,11 @@ public class PropertiesUtil {
     }
 
     public static Stream<Property> getPropertyFields(UnrealSerializerFactory serializer, String structName) {
-        Stream<Property> props = Stream.empty();
-        String current = structName;
-        while (current != null) {
-            Struct struct = serializer.getStruct(current).orElse(null);
-            if (struct == null) break;
-            props = Stream.concat(props, StreamSupport.stream(struct.spliterator(), false)
-                    .filter(f -> f instanceof Property).map(f -> (Property) f));
-            current = (struct.getEntry() != null && struct.getEntry().getObjectSuperClass() != null)
-                    ? struct.getEntry().getObjectSuperClass().getObjectFullName() : null;
-        }
-        return props;
+        PropertyLayout layout = serializer.getPropertyLayout(structName);
+        return IntStream.range(0, layout.size()).mapToObj(layout::getTemplate);
     }
 
-    private static boolean match(java.lang.Class<? extends Property> clazz, Type type) {
+    static boolean match(java.lang.Class<? extends Property> clazz, Type type) {
         java.lang.Class<? extends Property> expected = type.getPropertyClass();
         return expected != null && expected.isAssignableFrom(clazz);
     }
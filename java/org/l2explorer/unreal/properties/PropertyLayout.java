@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.properties;
+
+import org.l2explorer.unreal.UnrealSerializerFactory;
+import org.l2explorer.unreal.core.ArrayProperty;
+import org.l2explorer.unreal.core.Field;
+import org.l2explorer.unreal.core.Property;
+import org.l2explorer.unreal.core.Struct;
+import org.l2explorer.unreal.core.StructProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled property layout of a struct or class, including inherited properties.
+ * <p>Every property of the struct chain gets a slot index. Templates are looked
+ * up by case-insensitive name through a hash map instead of scanning the chain,
+ * so decoding a tagged property list costs one map lookup per tag.</p>
+ * <p>Layouts are cached by {@link UnrealSerializerFactory#getPropertyLayout(String)}.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class PropertyLayout {
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final String structName;
+    private final Property[] templates;
+    private final PropertiesUtil.Type[] types;
+    private final Struct[] structs;
+    private final Property[] arrayInners;
+    private final Map<String, int[]> slotsByName;
+    private final boolean complete;
+
+    private PropertyLayout(String structName, List<Property> properties, boolean complete) {
+        this.structName = structName;
+        this.templates = properties.toArray(new Property[0]);
+        this.types = new PropertiesUtil.Type[templates.length];
+        this.structs = new Struct[templates.length];
+        this.arrayInners = new Property[templates.length];
+        this.slotsByName = new HashMap<>(templates.length * 2);
+        this.complete = complete;
+
+        for (int slot = 0; slot < templates.length; slot++) {
+            Property template = templates[slot];
+            types[slot] = PropertiesUtil.getType(template);
+            if (template instanceof StructProperty structProperty) {
+                structs[slot] = structProperty.getStruct();
+            } else if (template instanceof ArrayProperty arrayProperty) {
+                arrayInners[slot] = arrayProperty.getInner();
+            }
+
+            String key = key(template.getEntry().getObjectName().getName());
+            int[] slots = slotsByName.getOrDefault(key, NO_SLOTS);
+            slots = Arrays.copyOf(slots, slots.length + 1);
+            slots[slots.length - 1] = slot;
+            slotsByName.put(key, slots);
+        }
+    }
+
+    /**
+     * Walks the struct and its super structs, own properties first.
+     */
+    public static PropertyLayout compile(UnrealSerializerFactory serializer, String structName) {
+        List<Property> properties = new ArrayList<>();
+        boolean complete = true;
+        String current = structName;
+        while (current != null) {
+            Struct struct = serializer.getStruct(current).orElse(null);
+            if (struct == null) {
+                complete = false;
+                break;
+            }
+            for (Field field : struct) {
+                if (field instanceof Property property) {
+                    properties.add(property);
+                }
+            }
+            current = (struct.getEntry() != null && struct.getEntry().getObjectSuperClass() != null)
+                    ? struct.getEntry().getObjectSuperClass().getObjectFullName() : null;
+        }
+        return new PropertyLayout(structName, properties, complete);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public String getStructName() {
+        return structName;
+    }
+
+    /**
+     * @return {@code false} if part of the struct chain could not be resolved; such layouts are not cached.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int size() {
+        return templates.length;
+    }
+
+    public Property getTemplate(int slot) {
+        return templates[slot];
+    }
+
+    public PropertiesUtil.Type getType(int slot) {
+        return types[slot];
+    }
+
+    public int getArrayDimension(int slot) {
+        return templates[slot].getArrayDimension();
+    }
+
+    /**
+     * @return The struct of a {@link StructProperty} slot, otherwise {@code null}.
+     */
+    public Struct getStruct(int slot) {
+        return structs[slot];
+    }
+
+    /**
+     * @return The inner property of an {@link ArrayProperty} slot, otherwise {@code null}.
+     */
+    public Property getArrayInner(int slot) {
+        return arrayInners[slot];
+    }
+
+    /**
+     * Finds the slot of a property by case-insensitive name.
+     *
+     * @param type Tag type the template must be compatible with, or {@code null} for any.
+     * @return The slot index, or {@code -1} if there is no such property.
+     */
+    public int indexOf(String name, PropertiesUtil.Type type) {
+        for (int slot : slotsByName.getOrDefault(key(name), NO_SLOTS)) {
+            if (type == null || PropertiesUtil.match(templates[slot].getClass(), type)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyLayout[" + structName + ", " + templates.length + " slots]";
+    }
+}
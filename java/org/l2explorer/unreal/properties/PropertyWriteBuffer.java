@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.unreal.properties;
+
+import org.l2explorer.io.L2DataOutput;
+import org.l2explorer.io.ObjectOutput;
+import org.l2explorer.io.SerializerFactory;
+import org.l2explorer.unreal.UnrealRuntimeContext;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Growable scratch buffer used by {@link PropertiesUtil#writeProperties}.
+ * <p>A whole property list, including nested structs, is serialized into one
+ * array: each header reserves the widest size field, the value is written in
+ * place and the header is then back-patched (shifting the value down when a
+ * narrower size encoding fits).</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+final class PropertyWriteBuffer implements ObjectOutput<UnrealRuntimeContext> {
+    private static final int SIZE_FIELD = 4;
+
+    private final ObjectOutput<UnrealRuntimeContext> target;
+    private byte[] buffer = new byte[256];
+    private int position;
+    /** Name table lookups are linear scans; the table does not change during one write. */
+    private final Map<String, Integer> nameReferences = new HashMap<>();
+
+    PropertyWriteBuffer(ObjectOutput<UnrealRuntimeContext> target) {
+        this.target = target;
+    }
+
+    @Override
+    public SerializerFactory<UnrealRuntimeContext> getSerializerFactory() {
+        return target.getSerializerFactory();
+    }
+
+    @Override
+    public UnrealRuntimeContext getContext() {
+        return target.getContext();
+    }
+
+    @Override
+    public Charset getCharset() {
+        return target.getCharset();
+    }
+
+    int nameReference(String name) {
+        return nameReferences.computeIfAbsent(name.toLowerCase(Locale.ROOT),
+                _ -> getContext().getUnrealPackage().nameReference(name));
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    private void ensure(int additional) {
+        int required = position + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    @Override
+    public void writeByte(int b) {
+        ensure(1);
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void writeBytes(byte[] b, int off, int len) {
+        if ((off | len | (b.length - (len + off)) | (off + len)) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensure(len);
+        System.arraycopy(b, off, buffer, position, len);
+        position += len;
+    }
+
+    @Override
+    public void writeShort(int val) {
+        ensure(2);
+        putShort(position, val);
+        position += 2;
+    }
+
+    @Override
+    public void writeInt(int val) {
+        ensure(4);
+        putInt(position, val);
+        position += 4;
+    }
+
+    @Override
+    public void writeCompactInt(int val) {
+        ensure(5);
+        boolean negative = val < 0;
+        int v = Math.abs(val);
+        int first = (negative ? 0x80 : 0) | (v & 0x3F);
+        v >>>= 6;
+        if (v == 0) {
+            buffer[position++] = (byte) first;
+            return;
+        }
+        buffer[position++] = (byte) (first | 0x40);
+        while (v > 0x7F) {
+            buffer[position++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buffer[position++] = (byte) v;
+    }
+
+    /**
+     * Reserves room for the widest property size field.
+     *
+     * @return offset of the reserved field
+     */
+    int reserveSize() {
+        ensure(SIZE_FIELD);
+        int offset = position;
+        position += SIZE_FIELD;
+        return offset;
+    }
+
+    /**
+     * Fills a field reserved by {@link #reserveSize()} once the value ending at
+     * the current position is known, moving everything written after the field
+     * down if the chosen encoding is narrower than the reservation.
+     *
+     * @param sizeOffset offset returned by {@link #reserveSize()}
+     * @param sizeFlag   encoding chosen by {@link PropertiesUtil#getPropertySizeFlag(int)}
+     * @param size       value length
+     */
+    void patchSize(int sizeOffset, int sizeFlag, int size) {
+        int width = switch (sizeFlag) {
+            case 5 -> 1;
+            case 6 -> 2;
+            case 7 -> 4;
+            default -> 0;
+        };
+        int tail = sizeOffset + SIZE_FIELD;
+        if (width != SIZE_FIELD) {
+            System.arraycopy(buffer, tail, buffer, sizeOffset + width, position - tail);
+            position -= SIZE_FIELD - width;
+        }
+        switch (width) {
+            case 1 -> buffer[sizeOffset] = (byte) size;
+            case 2 -> putShort(sizeOffset, size);
+            case 4 -> putInt(sizeOffset, size);
+        }
+    }
+
+    void putByte(int offset, int val) {
+        buffer[offset] = (byte) val;
+    }
+
+    private void putShort(int offset, int val) {
+        buffer[offset] = (byte) val;
+        buffer[offset + 1] = (byte) (val >>> 8);
+    }
+
+    private void putInt(int offset, int val) {
+        buffer[offset] = (byte) val;
+        buffer[offset + 1] = (byte) (val >>> 8);
+        buffer[offset + 2] = (byte) (val >>> 16);
+        buffer[offset + 3] = (byte) (val >>> 24);
+    }
+
+    void writeTo(L2DataOutput output) throws IOException {
+        output.writeBytes(buffer, 0, position);
+    }
+}
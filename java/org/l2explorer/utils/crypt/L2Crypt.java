@@ -37,6 +37,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.l2explorer.utils.crypt.blowfish.L2Ver21xInputStream;
 import org.l2explorer.utils.crypt.blowfish.L2Ver21xOutputStream;
@@ -218,10 +221,30 @@ public class L2Crypt {
             case 211 -> new L2Ver21xOutputStream(target, BLOWFISH_KEY_211);
             case 212 -> new L2Ver21xOutputStream(target, BLOWFISH_KEY_212);
             
-            // RSA Family
-            case 411, 412, 413, 414 -> new L2Ver41xOutputStream(target, publicModulus, publicExponent);
+            // RSA Family: stream blocks straight to disk when the size block can be back-patched
+            case 411, 412, 413, 414 -> target == output && output instanceof FileOutputStream fileOutput
+                    ? new L2Ver41xOutputStream(target, fileOutput.getChannel(), publicModulus, publicExponent)
+                    : new L2Ver41xOutputStream(target, publicModulus, publicExponent);
             
             default -> throw new CryptoException("Unsupported version: " + version);
         };
     }
+
+    /**
+     * Decrypts every file below {@code sourceDir} in parallel into {@code targetDir}.
+     *
+     * @see L2CryptBatch
+     */
+    public static List<L2CryptBatch.Result> decryptDirectory(Path sourceDir, Path targetDir, Consumer<L2CryptBatch.Result> listener) throws IOException {
+        return encryptDirectory(sourceDir, targetDir, NO_CRYPT, listener);
+    }
+
+    /**
+     * Re-encrypts every file below {@code sourceDir} to {@code version} in parallel into {@code targetDir}.
+     *
+     * @see L2CryptBatch
+     */
+    public static List<L2CryptBatch.Result> encryptDirectory(Path sourceDir, Path targetDir, int version, Consumer<L2CryptBatch.Result> listener) throws IOException {
+        return new L2CryptBatch(sourceDir, targetDir, version, Runtime.getRuntime().availableProcessors()).run(listener);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.utils.crypt;
+
+import static org.l2explorer.utils.crypt.L2Crypt.NO_CRYPT;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.l2explorer.utils.AtomicFiles;
+import org.l2explorer.utils.DaemonThreadFactory;
+
+/**
+ * Batch decryption / re-encryption of whole client directories.
+ * <p>Every regular file below the source directory is inspected with
+ * {@link L2Crypt#readHeader(InputStream)} and streamed through
+ * {@link L2Crypt#decrypt(InputStream, String)} and, when a target version is
+ * given, {@link L2Crypt#encrypt(OutputStream, String, int)}. Files are processed
+ * in parallel by a fixed number of workers, each one streaming through a small
+ * buffer, so memory usage does not depend on the number or size of the files.
+ * Output is written to a temporary file next to the target and moved into place
+ * once complete, so an interrupted run never leaves truncated files behind.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class L2CryptBatch {
+    private static final Logger log = Logger.getLogger(L2CryptBatch.class.getName());
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".l2crypt.tmp";
+
+    private final Path sourceDir;
+    private final Path targetDir;
+    private final int targetVersion;
+    private final int threads;
+
+    /**
+     * @param sourceDir     Directory to read files from (recursively).
+     * @param targetDir     Directory receiving the output tree, may be the same as {@code sourceDir}.
+     * @param targetVersion Version to re-encrypt to, or {@link L2Crypt#NO_CRYPT} to only decrypt.
+     * @param threads       Number of files processed concurrently.
+     */
+    public L2CryptBatch(Path sourceDir, Path targetDir, int targetVersion, int threads) {
+        this.sourceDir = Objects.requireNonNull(sourceDir, "Source directory cannot be null");
+        this.targetDir = Objects.requireNonNull(targetDir, "Target directory cannot be null");
+        this.targetVersion = targetVersion;
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is required");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Processes every file of the source tree.
+     *
+     * @param listener Called from the worker threads as each file completes (may be {@code null}).
+     * @return Results in source tree order.
+     * @throws IOException If the source tree cannot be listed.
+     */
+    public List<Result> run(Consumer<Result> listener) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(sourceDir)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("L2CryptBatch"));
+        try {
+            List<Future<Result>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> {
+                    Result result = process(file);
+                    if (listener != null) {
+                        listener.accept(result);
+                    }
+                    return result;
+                }));
+            }
+
+            List<Result> results = new ArrayList<>(files.size());
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new CryptoException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Batch interrupted", e);
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result process(Path source) {
+        Path target = targetDir.resolve(sourceDir.relativize(source).toString());
+        String fileName = source.getFileName().toString();
+        long start = System.nanoTime();
+        int sourceVersion = NO_CRYPT;
+        long inputSize = 0;
+        try {
+            // Read before the move, which replaces the source when processing in place
+            inputSize = Files.size(source);
+
+            sourceVersion = detectVersion(source);
+            int version = sourceVersion;
+
+            // The source is closed before the move, which may replace it
+            AtomicFiles.write(target, TEMP_SUFFIX, temp -> {
+                try (InputStream raw = new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE);
+                     // A plain FileOutputStream lets 41x output stream its blocks instead of buffering
+                     FileOutputStream output = new FileOutputStream(temp.toFile())) {
+                    if (version == targetVersion) {
+                        // Nothing to transform, keep the original bytes (including the header)
+                        raw.transferTo(output);
+                    } else {
+                        InputStream input = version == NO_CRYPT ? raw : L2Crypt.decrypt(raw, fileName);
+                        try (OutputStream encrypted = L2Crypt.encrypt(output, fileName, targetVersion)) {
+                            copy(input, encrypted);
+                        }
+                    }
+                }
+            });
+            return new Result(source, target, sourceVersion, inputSize, Files.size(target), System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(source, target, sourceVersion, inputSize, 0, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Reads the header version; files shorter than a header are not encrypted.
+     */
+    private static int detectVersion(Path source) throws IOException {
+        try (InputStream input = Files.newInputStream(source)) {
+            return L2Crypt.readHeader(input);
+        } catch (EOFException e) {
+            return NO_CRYPT;
+        }
+    }
+
+    private static void copy(InputStream input, OutputStream output) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count;
+        while ((count = input.read(buffer)) >= 0) {
+            output.write(buffer, 0, count);
+        }
+    }
+
+    /**
+     * Outcome of processing a single file.
+     */
+    public static final class Result {
+        private final Path source;
+        private final Path target;
+        private final int sourceVersion;
+        private final long inputSize;
+        private final long outputSize;
+        private final long nanos;
+        private final Exception error;
+
+        Result(Path source, Path target, int sourceVersion, long inputSize, long outputSize, long nanos, Exception error) {
+            this.source = source;
+            this.target = target;
+            this.sourceVersion = sourceVersion;
+            this.inputSize = inputSize;
+            this.outputSize = outputSize;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        public Path getSource() {
+            return source;
+        }
+
+        public Path getTarget() {
+            return target;
+        }
+
+        /** @return Detected header version, or {@link L2Crypt#NO_CRYPT}. */
+        public int getSourceVersion() {
+            return sourceVersion;
+        }
+
+        public long getInputSize() {
+            return inputSize;
+        }
+
+        public long getOutputSize() {
+            return outputSize;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /** @return The failure cause, or {@code null} if the file was written. */
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /** @return Input megabytes processed per second. */
+        public double getThroughput() {
+            return nanos == 0 ? 0 : (inputSize / (1024.0 * 1024.0)) / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            if (!isSuccess()) {
+                return String.format("%s: FAILED (%s)", source, error);
+            }
+            return String.format("%s: %d -> %d bytes, %.1f ms, %.2f MB/s",
+                    source, inputSize, outputSize, nanos / 1e6, getThroughput());
+        }
+    }
+
+    /**
+     * Command line entry point.
+     * <p>Usage: {@code L2CryptBatch <sourceDir> <targetDir> [targetVersion] [threads]}</p>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: L2CryptBatch <sourceDir> <targetDir> [targetVersion|-1] [threads]");
+            return;
+        }
+
+        int version = args.length > 2 ? Integer.parseInt(args[2]) : NO_CRYPT;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        List<Result> results = new L2CryptBatch(Paths.get(args[0]), Paths.get(args[1]), version, threads)
+                .run(result -> log.info(result::toString));
+
+        long failed = results.stream().filter(r -> !r.isSuccess()).count();
+        long bytes = results.stream().mapToLong(Result::getInputSize).sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info(String.format("%d files, %d failed, %.2f MB/s overall",
+                results.size(), failed, bytes / (1024.0 * 1024.0) / seconds));
+    }
+}
@@ -367,6 +367,39 @@ public final class BlowfishEngine {
         return BLOCK_SIZE;
     }
 
+    /**
+     * Processes several consecutive blocks in one call.
+     * Input and output may overlap exactly (in-place processing).
+     *
+     * @param len number of bytes to process, must be a multiple of the block size.
+     * @return the number of bytes processed.
+     */
+    public final int processBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) throws IllegalBlockSizeException, ShortBufferException {
+        if (workingKey == null) {
+            throw new IllegalStateException("Blowfish not initialised");
+        }
+
+        if (len % BLOCK_SIZE != 0 || inOff + len > in.length) {
+            throw new IllegalBlockSizeException("input buffer too short or not block aligned");
+        }
+
+        if (outOff + len > out.length) {
+            throw new ShortBufferException("output buffer too short");
+        }
+
+        if (encrypting) {
+            for (int i = 0; i < len; i += BLOCK_SIZE) {
+                encryptBlock(in, inOff + i, out, outOff + i);
+            }
+        } else {
+            for (int i = 0; i < len; i += BLOCK_SIZE) {
+                decryptBlock(in, inOff + i, out, outOff + i);
+            }
+        }
+
+        return len;
+    }
+
     //==================================
     // Private Implementation
     //==================================
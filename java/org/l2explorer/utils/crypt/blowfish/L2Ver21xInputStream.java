@@ -24,32 +24,32 @@ package org.l2explorer.utils.crypt.blowfish;
 
 import org.l2explorer.utils.crypt.CryptoException;
 
-import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
  * InputStream decorator that decrypts data using the Blowfish algorithm (v21x).
  * <p>Data is processed in 8-byte blocks, as required by the Blowfish cipher 
- * implementation for Lineage II client files.</p>
+ * implementation for Lineage II client files. Source bytes are read in large
+ * chunks and every complete block of a chunk is decrypted in one pass.</p>
  *
  * @author acmi (Original Code)
  * @author Galagard (L2Explorer Modernization)
  * @since 13-01-2026
  */
 public final class L2Ver21xInputStream extends InputStream {
-    private final DataInputStream in;
-    private final BlowfishEngine blowfish = new BlowfishEngine();
+    private static final int BLOCK_SIZE = 8;
+    private static final int BUFFER_SIZE = 8192;
 
-    private final byte[] readBuffer = new byte[8];
-    private final ByteBuffer dataBuffer = ByteBuffer.allocate(8);
+    private final InputStream in;
+    private final BlowfishEngine blowfish = new BlowfishEngine();
 
-    {
-        // Set position to limit so the first read() triggers a block processing
-        dataBuffer.position(dataBuffer.limit());
-    }
+    /** Decrypted data is available in {@code buffer[position, limit)}. */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
 
     /**
      * Creates a new L2Ver21xInputStream.
@@ -59,44 +59,82 @@ public final class L2Ver21xInputStream extends InputStream {
      * @throws NullPointerException if input or key is null.
      */
     public L2Ver21xInputStream(InputStream input, byte[] key) {
-        this.in = new DataInputStream(Objects.requireNonNull(input, "InputStream cannot be null"));
+        this.in = Objects.requireNonNull(input, "InputStream cannot be null");
         this.blowfish.init(false, Objects.requireNonNull(key, "Blowfish key cannot be null"));
     }
 
     @Override
     public int read() throws IOException {
-        // If buffer is exhausted, read and decrypt the next block
-        if (dataBuffer.position() == dataBuffer.limit()) {
-            fillBuffer();
+        // If buffer is exhausted, read and decrypt the next blocks
+        if (position == limit && !fillBuffer()) {
+            return -1;
         }
-        return dataBuffer.get() & 0xff;
+        return buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+
+        int total = 0;
+        while (total < len) {
+            if (position == limit) {
+                // Do not block for more data once something has been returned
+                if ((total > 0 && in.available() <= 0) || !fillBuffer()) {
+                    break;
+                }
+            }
+            int count = Math.min(len - total, limit - position);
+            System.arraycopy(buffer, position, b, off + total, count);
+            position += count;
+            total += count;
+        }
+        return total == 0 ? -1 : total;
     }
 
     /**
-     * Reads an 8-byte block from the source stream and decrypts it.
+     * Reads as many whole 8-byte blocks as fit into the buffer and decrypts them in place.
+     * A trailing partial block at the end of the source is ignored.
      *
+     * @return {@code false} if the source has no more complete blocks.
      * @throws IOException if an I/O error occurs or decryption fails.
      */
-    private void fillBuffer() throws IOException {
+    private boolean fillBuffer() throws IOException {
+        if (eof) {
+            return false;
+        }
+
+        int filled = 0;
+        while (filled == 0 || filled % BLOCK_SIZE != 0) {
+            int count = in.read(buffer, filled, buffer.length - filled);
+            if (count < 0) {
+                eof = true;
+                break;
+            }
+            filled += count;
+        }
+
+        position = 0;
+        limit = filled - filled % BLOCK_SIZE;
         try {
-            in.readFully(readBuffer);
-            dataBuffer.clear();
-            
-            // Blowfish processBlock handles exactly 8 bytes (64 bits)
-            blowfish.processBlock(readBuffer, 0, dataBuffer.array(), dataBuffer.arrayOffset());
+            blowfish.processBlocks(buffer, 0, buffer, 0, limit);
         } catch (Exception e) {
             throw new CryptoException("Blowfish decryption failed", e);
         }
+        return limit > 0;
     }
 
     @Override
     public int available() throws IOException {
         // Return remaining data in buffer plus available data in the underlying stream
-        return (dataBuffer.limit() - dataBuffer.position()) + in.available();
+        return (limit - position) + in.available();
     }
 
     @Override
     public void close() throws IOException {
         in.close();
     }
-}
\ No newline at end of file
+}
@@ -27,13 +27,13 @@ import org.l2explorer.utils.crypt.FinishableOutputStream;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * OutputStream decorator that encrypts data using the Blowfish algorithm (v21x).
  * <p>Data is buffered into 8-byte blocks before being processed by the cipher.
+ * Bulk writes are encrypted several blocks at a time through a reusable buffer.
  * If the final block is incomplete, it is padded with null bytes (0x00) before encryption.</p>
  *
  * @author acmi (Original Code)
@@ -41,10 +41,14 @@ import java.util.Objects;
  * @since 13-01-2026
  */
 public final class L2Ver21xOutputStream extends FinishableOutputStream {
+    private static final int BLOCK_SIZE = 8;
+    private static final int BUFFER_SIZE = 8192;
+
     private final BlowfishEngine blowfish = new BlowfishEngine();
 
-    private final byte[] writeBuffer = new byte[8];
-    private final ByteBuffer dataBuffer = ByteBuffer.allocate(8);
+    /** Plain bytes waiting for a complete block, {@code buffer[0, pending)}. */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pending;
 
     private boolean finished;
 
@@ -62,16 +66,32 @@ public final class L2Ver21xOutputStream extends FinishableOutputStream {
 
     @Override
     public void write(int b) throws IOException {
-        if (finished) {
-            throw new IOException("Stream already finished. Cannot write more data.");
-        }
+        ensureNotFinished();
 
-        dataBuffer.put((byte) b);
+        buffer[pending++] = (byte) b;
         
         // When the 8-byte block is full, encrypt and write it
-        if (dataBuffer.position() == dataBuffer.limit()) {
-            writeData();
-            dataBuffer.clear();
+        if (pending == BLOCK_SIZE) {
+            writeData(BLOCK_SIZE);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureNotFinished();
+
+        while (len > 0) {
+            int count = Math.min(len, buffer.length - pending);
+            System.arraycopy(b, off, buffer, pending, count);
+            pending += count;
+            off += count;
+            len -= count;
+
+            int aligned = pending - pending % BLOCK_SIZE;
+            if (aligned > 0) {
+                writeData(aligned);
+            }
         }
     }
 
@@ -87,29 +107,35 @@ public final class L2Ver21xOutputStream extends FinishableOutputStream {
         finished = true;
         
         // Process the last remaining block (even if partial)
-        if (dataBuffer.position() > 0) {
-            writeData();
+        if (pending > 0) {
+            // If the block is partial, pad the rest with zeros (Standard L2 practice)
+            Arrays.fill(buffer, pending, BLOCK_SIZE, (byte) 0);
+            writeData(BLOCK_SIZE);
         }
         flush();
     }
 
-    /**
-     * Encrypts the current contents of the dataBuffer and writes it to the underlying stream.
-     */
-    private void writeData() throws IOException {
-        // If the block is partial, pad the rest with zeros (Standard L2 practice)
-        if (dataBuffer.position() < dataBuffer.limit()) {
-            Arrays.fill(dataBuffer.array(), dataBuffer.position(), dataBuffer.limit(), (byte) 0);
+    private void ensureNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("Stream already finished. Cannot write more data.");
         }
+    }
 
+    /**
+     * Encrypts the first {@code len} buffered bytes in place, writes them to the
+     * underlying stream and moves any remaining partial block to the buffer start.
+     */
+    private void writeData(int len) throws IOException {
         try {
-            // blowfish.processBlock(input, inOff, output, outOff)
-            blowfish.processBlock(dataBuffer.array(), dataBuffer.arrayOffset(), writeBuffer, 0);
+            blowfish.processBlocks(buffer, 0, buffer, 0, len);
         } catch (Exception e) {
             throw new CryptoException("Blowfish encryption failed during write", e);
         }
         
-        out.write(writeBuffer);
+        out.write(buffer, 0, len);
+
+        pending = Math.max(pending - len, 0);
+        System.arraycopy(buffer, len, buffer, 0, pending);
     }
 
     @Override
@@ -120,4 +146,4 @@ public final class L2Ver21xOutputStream extends FinishableOutputStream {
             super.close();
         }
     }
-}
\ No newline at end of file
+}
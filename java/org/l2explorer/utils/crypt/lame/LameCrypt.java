@@ -27,6 +27,7 @@ import org.l2explorer.utils.crypt.L2Crypt;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Objects;
 
 /**
  * Implements the "LameCrypt" (L2EncDec) encryption layer.
@@ -45,6 +46,40 @@ public class LameCrypt {
      */
     public static final String CRYPT_STRING = "Range check error while converting variant of type (%s) into type (%s)";
 
+    /**
+     * Key stream made of the key repeated several times, so bulk XOR runs over
+     * long contiguous stretches without wrapping the key position per byte.
+     */
+    private static final byte[] KEY_STREAM;
+
+    static {
+        int length = CRYPT_STRING.length();
+        KEY_STREAM = new byte[length * 64];
+        for (int i = 0; i < KEY_STREAM.length; i++) {
+            KEY_STREAM[i] = (byte) CRYPT_STRING.charAt(i % length);
+        }
+    }
+
+    /**
+     * XORs {@code len} bytes with the key stream starting at key position {@code pos}.
+     * Source and destination may be the same array region.
+     *
+     * @return The key position following the last processed byte.
+     */
+    private static int xor(byte[] src, int srcOff, byte[] dst, int dstOff, int len, int pos) {
+        while (len > 0) {
+            int count = Math.min(len, KEY_STREAM.length - pos);
+            for (int i = 0; i < count; i++) {
+                dst[dstOff + i] = (byte) (src[srcOff + i] ^ KEY_STREAM[pos + i]);
+            }
+            srcOff += count;
+            dstOff += count;
+            len -= count;
+            pos = (pos + count) % CRYPT_STRING.length();
+        }
+        return pos;
+    }
+
     /**
      * Wraps an {@link InputStream} with LameCrypt decryption.
      *
@@ -75,6 +110,20 @@ public class LameCrypt {
                 return b;
             }
 
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int r = input.read(b, off, len);
+                if (r > 0) {
+                    pos = xor(b, off, b, off, r, pos);
+                }
+                return r;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return input.available();
+            }
+
             @Override
             public void close() throws IOException {
                 input.close();
@@ -90,6 +139,7 @@ public class LameCrypt {
      */
     public static OutputStream wrapOutput(OutputStream output) {
         return new OutputStream() {
+            private final byte[] buffer = new byte[8192];
             private int pos = L2Crypt.HEADER_SIZE % CRYPT_STRING.length();
 
             @Override
@@ -104,6 +154,18 @@ public class LameCrypt {
                 output.write(b);
             }
 
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                Objects.checkFromIndexSize(off, len, b.length);
+                while (len > 0) {
+                    int count = Math.min(len, buffer.length);
+                    pos = xor(b, off, buffer, 0, count, pos);
+                    output.write(buffer, 0, count);
+                    off += count;
+                    len -= count;
+                }
+            }
+
             @Override
             public void flush() throws IOException {
                 output.flush();
@@ -115,4 +177,4 @@ public class LameCrypt {
             }
         };
     }
-}
\ No newline at end of file
+}
@@ -83,9 +83,12 @@ public final class L2Ver41xInputStream extends FilterInputStream {
 
     /**
      * Inner class to handle raw RSA block decryption.
+     * <p>The standard 1024-bit keys are processed by {@link RSAEngine}; other keys
+     * fall back to the JCE {@code RSA/ECB/NoPadding} cipher.</p>
      */
     public static class RSAInputStream extends InputStream {
         private final DataInputStream input;
+        private final RSAEngine engine;
         private final Cipher cipher;
         private final byte[] buffer = new byte[128];
         
@@ -97,6 +100,13 @@ public final class L2Ver41xInputStream extends FilterInputStream {
         public RSAInputStream(InputStream source, BigInteger modulus, BigInteger exponent) throws CryptoException {
             this.input = new DataInputStream(source);
 
+            if (RSAEngine.isSupported(modulus, exponent)) {
+                this.engine = new RSAEngine(modulus, exponent);
+                this.cipher = null;
+                return;
+            }
+
+            this.engine = null;
             try {
                 KeyFactory keyFactory = KeyFactory.getInstance("RSA");
                 RSAPrivateKeySpec keySpec = new RSAPrivateKeySpec(modulus, exponent);
@@ -127,11 +137,7 @@ public final class L2Ver41xInputStream extends FilterInputStream {
                     remaining -= count;
                 }
 
-                try {
-                    cipher.doFinal(buffer, 0, 128, buffer);
-                } catch (GeneralSecurityException e) {
-                    throw new CryptoException("RSA block decryption failed", e);
-                }
+                decryptBlock();
 
                 // The 4th byte of the decrypted block contains the size of valid data
                 currentBlockSize = buffer[3] & 0xff;
@@ -146,6 +152,19 @@ public final class L2Ver41xInputStream extends FilterInputStream {
             return true;
         }
 
+        private void decryptBlock() {
+            if (engine != null) {
+                engine.processBlock(buffer, 0, buffer, 0);
+                return;
+            }
+
+            try {
+                cipher.doFinal(buffer, 0, 128, buffer);
+            } catch (GeneralSecurityException e) {
+                throw new CryptoException("RSA block decryption failed", e);
+            }
+        }
+
         @Override
         public int read() throws IOException {
             ensureOpen();
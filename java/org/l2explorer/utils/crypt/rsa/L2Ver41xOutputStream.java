@@ -26,30 +26,52 @@ import org.l2explorer.utils.crypt.CryptoException;
 import org.l2explorer.utils.crypt.FinishableOutputStream;
 
 import javax.crypto.Cipher;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.spec.RSAPublicKeySpec;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 
 /**
  * OutputStream implementation for Lineage II RSA encryption (Version 41x).
  * <p>Data is first compressed using Zlib (Deflater) and then encrypted 
  * in 128-byte blocks using the RSA algorithm.</p>
+ * <p>The format starts with the uncompressed size, which is only known once
+ * everything has been written. Data is compressed as it arrives and then either:</p>
+ * <ul>
+ *     <li>streamed straight to the file when a {@link FileChannel} is given; the
+ *     first RSA block (holding the size) is reserved and back-patched in
+ *     {@link #finish()}, or</li>
+ *     <li>kept compressed in memory, spilling to a temporary file past
+ *     {@link #SPILL_THRESHOLD} bytes, and encrypted in {@link #finish()}.</li>
+ * </ul>
  *
  * @author acmi (Original Code)
  * @author Galagard (L2Explorer Modernization)
  * @since 13-01-2026
  */
 public final class L2Ver41xOutputStream extends FinishableOutputStream {
-    private final ByteArrayOutputStream dataBuffer = new ByteArrayOutputStream();
+    /** Compressed bytes kept in memory before spilling to a temporary file. */
+    public static final int SPILL_THRESHOLD = 8 * 1024 * 1024;
+
+    private final RSAOutputStream rsa;
+    private final FileChannel channel;
+    private final SpillBuffer spill;
+    private final Deflater deflater = new Deflater();
+    private final DeflaterOutputStream compressor;
+    private int uncompressedSize;
     private boolean finished;
 
     /**
@@ -60,24 +82,68 @@ public final class L2Ver41xOutputStream extends FinishableOutputStream {
      * @param exponent RSA Public Exponent.
      */
     public L2Ver41xOutputStream(OutputStream output, BigInteger modulus, BigInteger exponent) {
+        this(output, null, modulus, exponent);
+    }
+
+    /**
+     * Constructs a new RSA output stream that writes compressed blocks as they are produced.
+     *
+     * @param output   The destination stream, writing unbuffered to {@code channel}.
+     * @param channel  Channel of the destination file, used to back-patch the size block;
+     *                 {@code null} to buffer the compressed data instead.
+     * @param modulus  RSA Modulus.
+     * @param exponent RSA Public Exponent.
+     * @throws CryptoException If the channel position cannot be read.
+     */
+    public L2Ver41xOutputStream(OutputStream output, FileChannel channel, BigInteger modulus, BigInteger exponent) {
         super(new RSAOutputStream(
                 Objects.requireNonNull(output, "Destination stream cannot be null"), 
                 Objects.requireNonNull(modulus, "RSA modulus cannot be null"), 
                 Objects.requireNonNull(exponent, "RSA exponent cannot be null")));
+        this.rsa = (RSAOutputStream) out;
+        this.channel = channel;
+
+        if (channel != null) {
+            try {
+                rsa.reserveFirstBlock(channel.position());
+                // Placeholder for the uncompressed size, patched in finish()
+                rsa.write(new byte[4]);
+            } catch (IOException e) {
+                throw new CryptoException("Failed to reserve RSA size block", e);
+            }
+            this.spill = null;
+            this.compressor = new DeflaterOutputStream(rsa, deflater, 8192);
+        } else {
+            this.spill = new SpillBuffer();
+            this.compressor = new DeflaterOutputStream(spill, deflater, 8192);
+        }
     }
 
     @Override
     public void write(int b) throws IOException {
+        ensureNotFinished();
+        compressor.write(b);
+        uncompressedSize++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureNotFinished();
+        compressor.write(b, off, len);
+        uncompressedSize += len;
+    }
+
+    private void ensureNotFinished() throws IOException {
         if (finished) {
             throw new IOException("Stream already finished. Cannot write more data.");
         }
-        dataBuffer.write(b);
     }
 
     /**
      * Finalizes the compression and encryption process.
-     * <p>Writes the uncompressed data size (Little Endian), compresses the buffer, 
-     * and triggers the final RSA block processing.</p>
+     * <p>Writes the uncompressed data size (Little Endian) ahead of the compressed
+     * data and triggers the final RSA block processing.</p>
      */
     @Override
     public void finish() throws IOException {
@@ -86,28 +152,99 @@ public final class L2Ver41xOutputStream extends FinishableOutputStream {
         }
         finished = true;
 
-        // Write uncompressed size in Little Endian (standard L2 format)
-        new DataOutputStream(out).writeInt(Integer.reverseBytes(dataBuffer.size()));
+        try {
+            compressor.finish();
 
-        // Compress data into the RSAOutputStream
-        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
-            dataBuffer.writeTo(deflater);
-            deflater.finish();
+            if (channel != null) {
+                rsa.finish();
+                rsa.patchFirstBlock(channel, Integer.reverseBytes(uncompressedSize));
+            } else {
+                // Write uncompressed size in Little Endian (standard L2 format)
+                int size = uncompressedSize;
+                rsa.write(new byte[]{(byte) size, (byte) (size >>> 8), (byte) (size >>> 16), (byte) (size >>> 24)});
+                spill.writeTo(rsa);
+                rsa.finish();
+            }
+        } finally {
+            deflater.end();
+            if (spill != null) {
+                spill.discard();
+            }
+        }
+    }
+
+    /**
+     * Compressed data holder that moves to a temporary file once it grows past {@link #SPILL_THRESHOLD}.
+     */
+    private static class SpillBuffer extends OutputStream {
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private Path file;
+        private OutputStream fileOutput;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
         }
 
-        // Finalize the underlying RSA stream
-        ((RSAOutputStream) out).finish();
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileOutput == null && memory.size() + len > SPILL_THRESHOLD) {
+                file = Files.createTempFile("l2ver41x", ".tmp");
+                fileOutput = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+                memory.writeTo(fileOutput);
+                memory = null;
+            }
+
+            if (fileOutput != null) {
+                fileOutput.write(b, off, len);
+            } else {
+                memory.write(b, off, len);
+            }
+        }
+
+        void writeTo(OutputStream output) throws IOException {
+            if (fileOutput == null) {
+                memory.writeTo(output);
+                return;
+            }
+
+            fileOutput.close();
+            fileOutput = null;
+            try (InputStream input = Files.newInputStream(file)) {
+                input.transferTo(output);
+            }
+        }
+
+        void discard() throws IOException {
+            memory = null;
+            if (fileOutput != null) {
+                fileOutput.close();
+                fileOutput = null;
+            }
+            if (file != null) {
+                Files.deleteIfExists(file);
+                file = null;
+            }
+        }
     }
 
     /**
      * Inner class that handles raw RSA encryption in 128-byte chunks.
      */
     private static class RSAOutputStream extends FinishableOutputStream {
+        private static final int DATA_SIZE = 124;
+
         private final Cipher cipher;
-        private final ByteBuffer dataBuffer = ByteBuffer.allocate(124);
+        private final ByteBuffer dataBuffer = ByteBuffer.allocate(DATA_SIZE);
         private final byte[] block = new byte[128];
         private boolean finished;
 
+        /** Plain first block kept for back-patching, see {@link #reserveFirstBlock(long)}. */
+        private byte[] firstBlock;
+        private int firstBlockDataOffset;
+        private long firstBlockPosition = -1;
+        private boolean firstBlockWritten;
+
         public RSAOutputStream(OutputStream output, BigInteger modulus, BigInteger exponent) {
             super(output);
             try {
@@ -134,6 +271,25 @@ public final class L2Ver41xOutputStream extends FinishableOutputStream {
             }
         }
 
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                throw new IOException("RSA stream already finished");
+            }
+
+            while (len > 0) {
+                int count = Math.min(len, dataBuffer.remaining());
+                dataBuffer.put(b, off, count);
+                off += count;
+                len -= count;
+
+                if (dataBuffer.position() == dataBuffer.limit()) {
+                    writeData();
+                    dataBuffer.clear();
+                }
+            }
+        }
+
         @Override
         public void finish() throws IOException {
             if (finished) {
@@ -144,6 +300,35 @@ public final class L2Ver41xOutputStream extends FinishableOutputStream {
             flush();
         }
 
+        /**
+         * Makes the first block be written as a placeholder at the given file position,
+         * to be encrypted later by {@link #patchFirstBlock(FileChannel, int)}.
+         */
+        void reserveFirstBlock(long position) {
+            this.firstBlockPosition = position;
+        }
+
+        /**
+         * Overwrites the first 4 data bytes of the reserved first block and writes it encrypted.
+         */
+        void patchFirstBlock(FileChannel channel, int firstInt) throws IOException {
+            if (firstBlock == null) {
+                throw new IOException("RSA size block was not reserved");
+            }
+
+            firstBlock[firstBlockDataOffset] = (byte) (firstInt >>> 24);
+            firstBlock[firstBlockDataOffset + 1] = (byte) (firstInt >>> 16);
+            firstBlock[firstBlockDataOffset + 2] = (byte) (firstInt >>> 8);
+            firstBlock[firstBlockDataOffset + 3] = (byte) firstInt;
+            encrypt(firstBlock);
+
+            ByteBuffer buffer = ByteBuffer.wrap(firstBlock);
+            long position = firstBlockPosition;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
         private void writeData() throws IOException {
             int size = dataBuffer.position();
             if (size == 0) {
@@ -158,13 +343,24 @@ public final class L2Ver41xOutputStream extends FinishableOutputStream {
             int offset = 128 - size - ((124 - size) % 4);
             System.arraycopy(dataBuffer.array(), 0, block, offset, size);
 
+            if (firstBlockPosition >= 0 && !firstBlockWritten) {
+                firstBlockWritten = true;
+                firstBlock = block.clone();
+                firstBlockDataOffset = offset;
+                out.write(new byte[block.length]);
+                return;
+            }
+
+            encrypt(block);
+            out.write(block);
+        }
+
+        private void encrypt(byte[] data) {
             try {
-                cipher.doFinal(block, 0, 128, block);
+                cipher.doFinal(data, 0, 128, data);
             } catch (GeneralSecurityException e) {
                 throw new CryptoException("RSA block encryption failed", e);
             }
-
-            out.write(block);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.utils.crypt.rsa;
+
+import org.l2explorer.utils.crypt.CryptoException;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Raw (unpadded) RSA block transform specialized for the 1024-bit keys and
+ * small private exponents used to decrypt Lineage II 41x files.
+ * <p>The modulus is kept as 32-bit limbs together with its Montgomery constants,
+ * so each 128-byte block is processed with plain {@code int}/{@code long}
+ * arithmetic on reusable scratch arrays instead of the {@code BigInteger}s and
+ * temporary arrays the JCE {@code RSA/ECB/NoPadding} cipher allocates per block.</p>
+ * <p>Instances are not thread-safe; use one engine per stream.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class RSAEngine {
+    /** Size of an RSA block in bytes (1024-bit modulus). */
+    public static final int BLOCK_SIZE = 128;
+
+    private static final int LIMBS = BLOCK_SIZE / 4;
+    private static final long MASK = 0xffffffffL;
+    /** Larger exponents are faster through the intrinsified JCE implementation. */
+    private static final int MAX_EXPONENT_BITS = 64;
+
+    private final int[] modulus;
+    private final int[] rSquared;
+    private final int[] one = new int[LIMBS];
+    private final boolean[] exponentBits;
+    private final int n0Inverse;
+
+    // Scratch space reused for every block
+    private final int[] base = new int[LIMBS];
+    private final int[] acc = new int[LIMBS];
+    private final int[] tmp = new int[LIMBS];
+    private final int[] product = new int[LIMBS + 2];
+
+    /**
+     * Precomputes the Montgomery form for the given key.
+     *
+     * @param modulus  RSA modulus, must be odd and exactly 1024 bits wide.
+     * @param exponent RSA exponent.
+     * @throws IllegalArgumentException if the key is not supported, see {@link #isSupported(BigInteger, BigInteger)}.
+     */
+    public RSAEngine(BigInteger modulus, BigInteger exponent) {
+        Objects.requireNonNull(modulus, "RSA modulus cannot be null");
+        Objects.requireNonNull(exponent, "RSA exponent cannot be null");
+        if (!isSupported(modulus, exponent)) {
+            throw new IllegalArgumentException("Unsupported RSA key: " + modulus.bitLength() + "-bit modulus, "
+                    + exponent.bitLength() + "-bit exponent");
+        }
+
+        this.modulus = toLimbs(modulus);
+        this.rSquared = toLimbs(BigInteger.ONE.shiftLeft(2 * BLOCK_SIZE * 8).mod(modulus));
+        this.one[0] = 1;
+
+        this.exponentBits = new boolean[exponent.bitLength()];
+        for (int i = 0; i < exponentBits.length; i++) {
+            exponentBits[i] = exponent.testBit(exponentBits.length - 1 - i);
+        }
+
+        // Newton iteration for modulus^-1 mod 2^32, each step doubles the correct bits
+        int n0 = this.modulus[0];
+        int inv = 1;
+        for (int i = 0; i < 5; i++) {
+            inv *= 2 - n0 * inv;
+        }
+        this.n0Inverse = -inv;
+    }
+
+    /**
+     * Checks whether the optimized path can handle the given key.
+     *
+     * @param modulus  RSA modulus.
+     * @param exponent RSA exponent.
+     * @return {@code true} for odd moduli that fill exactly one 128-byte block
+     *         combined with a positive exponent of at most 64 bits.
+     */
+    public static boolean isSupported(BigInteger modulus, BigInteger exponent) {
+        return modulus != null && exponent != null
+                && modulus.testBit(0) && (modulus.bitLength() + 7) / 8 == BLOCK_SIZE
+                && exponent.signum() > 0 && exponent.bitLength() <= MAX_EXPONENT_BITS;
+    }
+
+    /**
+     * Computes {@code in^exponent mod modulus} for one big-endian block.
+     * <p>{@code in} and {@code out} may refer to the same array region.</p>
+     *
+     * @param in     Source array.
+     * @param inOff  Offset of the 128-byte input block.
+     * @param out    Destination array.
+     * @param outOff Offset of the 128-byte output block.
+     * @throws CryptoException if the block value is not smaller than the modulus.
+     */
+    public void processBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        if (in.length - inOff < BLOCK_SIZE || out.length - outOff < BLOCK_SIZE) {
+            throw new IndexOutOfBoundsException("RSA block requires " + BLOCK_SIZE + " bytes");
+        }
+
+        for (int i = 0; i < LIMBS; i++) {
+            int p = inOff + BLOCK_SIZE - 4 - i * 4;
+            tmp[i] = ((in[p] & 0xff) << 24) | ((in[p + 1] & 0xff) << 16) | ((in[p + 2] & 0xff) << 8) | (in[p + 3] & 0xff);
+        }
+        if (compare(tmp, modulus) >= 0) {
+            throw new CryptoException("RSA block value is larger than modulus");
+        }
+
+        // Enter Montgomery domain; the leading exponent bit is always set
+        montMul(tmp, rSquared, base);
+        System.arraycopy(base, 0, acc, 0, LIMBS);
+
+        for (int i = 1; i < exponentBits.length; i++) {
+            montMul(acc, acc, tmp);
+            if (exponentBits[i]) {
+                montMul(tmp, base, acc);
+            } else {
+                System.arraycopy(tmp, 0, acc, 0, LIMBS);
+            }
+        }
+
+        // Leave Montgomery domain
+        montMul(acc, one, tmp);
+
+        for (int i = 0; i < LIMBS; i++) {
+            int v = tmp[i];
+            int p = outOff + BLOCK_SIZE - 4 - i * 4;
+            out[p] = (byte) (v >>> 24);
+            out[p + 1] = (byte) (v >>> 16);
+            out[p + 2] = (byte) (v >>> 8);
+            out[p + 3] = (byte) v;
+        }
+    }
+
+    /**
+     * CIOS Montgomery multiplication: {@code r = a * b * R^-1 mod n}.
+     * {@code r} must not alias {@code a} or {@code b}.
+     */
+    private void montMul(int[] a, int[] b, int[] r) {
+        int[] t = product;
+        int[] n = modulus;
+        Arrays.fill(t, 0);
+
+        for (int i = 0; i < LIMBS; i++) {
+            long ai = a[i] & MASK;
+            long carry = 0;
+            for (int j = 0; j < LIMBS; j++) {
+                long s = (t[j] & MASK) + ai * (b[j] & MASK) + carry;
+                t[j] = (int) s;
+                carry = s >>> 32;
+            }
+            long s = (t[LIMBS] & MASK) + carry;
+            t[LIMBS] = (int) s;
+            t[LIMBS + 1] = (int) (s >>> 32);
+
+            long m = (t[0] * n0Inverse) & MASK;
+            s = (t[0] & MASK) + m * (n[0] & MASK);
+            carry = s >>> 32;
+            for (int j = 1; j < LIMBS; j++) {
+                s = (t[j] & MASK) + m * (n[j] & MASK) + carry;
+                t[j - 1] = (int) s;
+                carry = s >>> 32;
+            }
+            s = (t[LIMBS] & MASK) + carry;
+            t[LIMBS - 1] = (int) s;
+            t[LIMBS] = t[LIMBS + 1] + (int) (s >>> 32);
+        }
+
+        System.arraycopy(t, 0, r, 0, LIMBS);
+        if (t[LIMBS] != 0 || compare(r, n) >= 0) {
+            long borrow = 0;
+            for (int j = 0; j < LIMBS; j++) {
+                long d = (r[j] & MASK) - (n[j] & MASK) - borrow;
+                r[j] = (int) d;
+                borrow = (d >>> 63);
+            }
+        }
+    }
+
+    private static int compare(int[] a, int[] b) {
+        for (int i = LIMBS - 1; i >= 0; i--) {
+            if (a[i] != b[i]) {
+                return Integer.compareUnsigned(a[i], b[i]);
+            }
+        }
+        return 0;
+    }
+
+    private static int[] toLimbs(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int[] limbs = new int[LIMBS];
+        for (int i = 0; i < bytes.length && i < BLOCK_SIZE; i++) {
+            limbs[i / 4] |= (bytes[bytes.length - 1 - i] & 0xff) << ((i % 4) * 8);
+        }
+        return limbs;
+    }
+}
@@ -37,6 +37,17 @@ public final class L2Ver120 {
      */
     public static final int START_IND = 0xE6;
 
+    /**
+     * Key stream for every 16-bit index; {@link #getXORKey(int)} only depends on the low 16 bits.
+     */
+    private static final byte[] KEY_TABLE = new byte[0x10000];
+
+    static {
+        for (int i = 0; i < KEY_TABLE.length; i++) {
+            KEY_TABLE[i] = (byte) getXORKey(i);
+        }
+    }
+
     /**
      * Derives a 1-byte XOR key from a given integer input using nibble manipulation.
      *
@@ -52,6 +63,28 @@ public final class L2Ver120 {
         return ((d2 ^ d4) << 4) | (d1 ^ d3);
     }
 
+    /**
+     * XORs a buffer with the key stream starting at the given index using the precomputed key table.
+     * Source and destination may be the same array region.
+     *
+     * @param ind The index of the first byte.
+     * @return The index following the last processed byte.
+     */
+    public static int xor(byte[] src, int srcOff, byte[] dst, int dstOff, int len, int ind) {
+        while (len > 0) {
+            int k = ind & 0xffff;
+            int count = Math.min(len, KEY_TABLE.length - k);
+            for (int i = 0; i < count; i++) {
+                dst[dstOff + i] = (byte) (src[srcOff + i] ^ KEY_TABLE[k + i]);
+            }
+            srcOff += count;
+            dstOff += count;
+            len -= count;
+            ind += count;
+        }
+        return ind;
+    }
+
     /** Private constructor to prevent instantiation. */
     private L2Ver120() {}
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ import java.util.Objects;
 
 import static org.l2explorer.utils.crypt.xor.L2Ver120.START_IND;
 import static org.l2explorer.utils.crypt.xor.L2Ver120.getXORKey;
+import static org.l2explorer.utils.crypt.xor.L2Ver120.xor;
 
 /**
  * InputStream implementation for XOR encryption version 120.
@@ -64,10 +65,8 @@ public final class L2Ver120InputStream extends FilterInputStream {
     public int read(byte[] b, int off, int len) throws IOException {
         int r = in.read(b, off, len);
         if (r > 0) {
-            for (int i = 0; i < r; i++) {
-                // Apply the rolling XOR key to each byte in the buffer
-                b[off + i] = (byte) (b[off + i] ^ getXORKey(ind++));
-            }
+            // Apply the rolling XOR key to the whole chunk
+            ind = xor(b, off, b, off, r, ind);
         }
         return r;
     }
@@ -29,6 +29,7 @@ import java.util.Objects;
 
 import static org.l2explorer.utils.crypt.xor.L2Ver120.START_IND;
 import static org.l2explorer.utils.crypt.xor.L2Ver120.getXORKey;
+import static org.l2explorer.utils.crypt.xor.L2Ver120.xor;
 
 /**
  * OutputStream implementation for XOR encryption version 120.
@@ -40,6 +41,7 @@ import static org.l2explorer.utils.crypt.xor.L2Ver120.getXORKey;
  * @since 13-01-2026
  */
 public final class L2Ver120OutputStream extends FilterOutputStream {
+    private final byte[] buffer = new byte[8192];
     private int ind = START_IND;
 
     /**
@@ -69,12 +71,14 @@ public final class L2Ver120OutputStream extends FilterOutputStream {
             return;
         }
         
-        // Optimize block writes by applying XOR to the buffer
-        byte[] encrypted = new byte[len];
-        for (int i = 0; i < len; i++) {
-            encrypted[i] = (byte) (b[off + i] ^ getXORKey(ind++));
+        // Encrypt through the reusable buffer with the precomputed key stream
+        while (len > 0) {
+            int count = Math.min(len, buffer.length);
+            ind = xor(b, off, buffer, 0, count, ind);
+            out.write(buffer, 0, count);
+            off += count;
+            len -= count;
         }
-        out.write(encrypted, 0, len);
     }
 
     @Override
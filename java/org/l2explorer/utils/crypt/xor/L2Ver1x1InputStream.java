@@ -64,9 +64,10 @@ public final class L2Ver1x1InputStream extends FilterInputStream {
         int r = in.read(b, off, len);
         
         if (r > 0) {
-            for (int i = 0; i < r; i++) {
-                // Apply the static XOR key to each byte in the buffer
-                b[off + i] = (byte) (b[off + i] ^ xorKey);
+            // Apply the static XOR key to each byte in the buffer
+            byte k = (byte) xorKey;
+            for (int i = off, end = off + r; i < end; i++) {
+                b[i] ^= k;
             }
         }
         
@@ -38,6 +38,7 @@ import java.util.Objects;
  */
 public final class L2Ver1x1OutputStream extends FilterOutputStream {
     private final int xorKey;
+    private final byte[] buffer = new byte[8192];
 
     /**
      * Constructs a new L2Ver1x1OutputStream.
@@ -68,12 +69,17 @@ public final class L2Ver1x1OutputStream extends FilterOutputStream {
             return;
         }
 
-        // Optimization: Encrypt the entire block in memory before writing
-        byte[] encrypted = new byte[len];
-        for (int i = 0; i < len; i++) {
-            encrypted[i] = (byte) (b[off + i] ^ xorKey);
+        // Encrypt through a reusable buffer instead of allocating one per call
+        byte k = (byte) xorKey;
+        while (len > 0) {
+            int count = Math.min(len, buffer.length);
+            for (int i = 0; i < count; i++) {
+                buffer[i] = (byte) (b[off + i] ^ k);
+            }
+            out.write(buffer, 0, count);
+            off += count;
+            len -= count;
         }
-        out.write(encrypted, 0, len);
     }
 
     @Override
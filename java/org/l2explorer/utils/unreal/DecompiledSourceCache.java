@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.utils.unreal;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.io.UnrealPackage.ExportEntry;
+
+/**
+ * Persistent store of decompiled sources.
+ * <p>There is one append-only file per package, named after the package GUID,
+ * a hash of its generation table and {@link UnrealDecompiler#VERSION}, so a
+ * changed package or a newer decompiler simply starts a new file. Each record
+ * holds the output kind, export index, a checksum of what the output was
+ * decompiled from (the name table and the raw data of the export and of its
+ * direct members, checked on read so that in-place edits and renames miss) and
+ * the deflated UTF-8 source. The index of a file is rebuilt by scanning its record
+ * headers when it is first opened; a truncated tail left by an interrupted
+ * write is cut off.</p>
+ * <p>Stores are reference counted: every {@link #open(UnrealPackage)} is paired
+ * with a {@link #close()}, normally by {@link DecompilerSession#close()}.
+ * Appends and tail repairs hold a {@link FileLock}, and records appended by
+ * another process are indexed before writing, so several explorer instances
+ * can share the directory.</p>
+ * <p>The location is set with the {@code L2unreal.decompiledCache} system
+ * property; an empty value disables the cache. When a store is opened, files
+ * not in use are deleted, least recently used first, until the directory fits
+ * in {@code L2unreal.decompiledCacheSize} megabytes.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class DecompiledSourceCache {
+    private static final Logger log = Logger.getLogger(DecompiledSourceCache.class.getName());
+
+    private static final String CACHE_DIR = System.getProperty("L2unreal.decompiledCache",
+            Paths.get(System.getProperty("java.io.tmpdir"), "l2explorer", "decompiled").toString());
+
+    private static final int MAGIC = 0x4344324C; // "L2DC"
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 17;
+    /** Record layout version, part of the file name. */
+    private static final int FORMAT = 2;
+    private static final String EXTENSION = ".l2dc";
+    private static final long CACHE_LIMIT = Long.getLong("L2unreal.decompiledCacheSize", 512) << 20;
+
+    /** Open stores, shared by every session of the same package in this JVM. Guarded by itself. */
+    private static final Map<Path, DecompiledSourceCache> OPEN = new HashMap<>();
+
+    /**
+     * Decompiler outputs that can be cached.
+     */
+    public enum Kind {
+        CLASS,
+        FUNCTION,
+        DEFAULT_PROPERTIES,
+        ENUM,
+        STRUCT
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<Long, Long> index = new HashMap<>();
+    private long end;
+    /** Guarded by {@link #OPEN}. */
+    private int references;
+    /** Name table and its checksum, recomputed when the package replaces its table. */
+    private volatile NameChecksum nameChecksum;
+
+    private static final class NameChecksum {
+        final List<UnrealPackage.NameEntry> names;
+        final int value;
+
+        NameChecksum(List<UnrealPackage.NameEntry> names) {
+            CRC32 crc = new CRC32();
+            for (UnrealPackage.NameEntry name : names) {
+                crc.update(name.getName().getBytes(StandardCharsets.UTF_8));
+                crc.update(0);
+            }
+            this.names = names;
+            this.value = (int) crc.getValue();
+        }
+    }
+
+    private DecompiledSourceCache(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, CREATE, READ, WRITE);
+        try (FileLock _ = channel.lock()) {
+            load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the store of a package.
+     *
+     * @return the store, or {@code null} if caching is disabled or the store cannot be opened
+     */
+    public static DecompiledSourceCache open(UnrealPackage up) {
+        if (CACHE_DIR.isEmpty() || up.getGUID() == null) {
+            return null;
+        }
+        Path file = Paths.get(CACHE_DIR).resolve(fileName(up));
+        synchronized (OPEN) {
+            DecompiledSourceCache cache = OPEN.get(file);
+            if (cache == null) {
+                try {
+                    Files.createDirectories(file.getParent());
+                    cache = new DecompiledSourceCache(file);
+                } catch (IOException | OverlappingFileLockException e) {
+                    log.log(Level.WARNING, "Decompiled source cache disabled for " + up.getPackageName(), e);
+                    return null;
+                }
+                OPEN.put(file, cache);
+                evict(file.getParent());
+            }
+            cache.references++;
+            return cache;
+        }
+    }
+
+    /**
+     * Releases one reference to the store, closing its file with the last one.
+     */
+    public void close() {
+        synchronized (OPEN) {
+            if (--references > 0) {
+                return;
+            }
+            OPEN.remove(path, this);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.log(Level.FINE, "Failed to close " + path, e);
+        }
+    }
+
+    /**
+     * Deletes the least recently written stores that are not open in this JVM
+     * until the directory fits its size limit. Stores open in another process
+     * may refuse deletion on some platforms and are skipped. Must hold {@link #OPEN}.
+     */
+    private static void evict(Path dir) {
+        List<Path> files = new ArrayList<>();
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            for (Path file : stream) {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    attributes.put(file, attrs);
+                    total += attrs.size();
+                    if (!OPEN.containsKey(file)) {
+                        files.add(file);
+                    }
+                } catch (IOException ignore) {
+                    // removed concurrently
+                }
+            }
+        } catch (IOException e) {
+            log.log(Level.FINE, "Cannot list " + dir, e);
+            return;
+        }
+
+        files.sort(Comparator.comparing(file -> attributes.get(file).lastModifiedTime()));
+        for (Path file : files) {
+            if (total <= CACHE_LIMIT) {
+                break;
+            }
+            try {
+                Files.delete(file);
+                total -= attributes.get(file).size();
+                log.fine(() -> "Decompiled source cache evicted: " + file);
+            } catch (IOException e) {
+                log.log(Level.FINE, "Cannot evict " + file, e);
+            }
+        }
+    }
+
+    private static String fileName(UnrealPackage up) {
+        int generations = 1;
+        for (UnrealPackage.Generation generation : up.getGenerations()) {
+            generations = 31 * generations + generation.getExportCount();
+            generations = 31 * generations + generation.getNameCount();
+        }
+        return String.format("%s_%s_%08x_v%d.%d" + EXTENSION, up.getPackageName(), up.getGUID(), generations, UnrealDecompiler.VERSION, FORMAT);
+    }
+
+    private static long key(Kind kind, int exportIndex) {
+        return ((long) kind.ordinal() << 32) | (exportIndex & 0xFFFFFFFFL);
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (size < HEADER_SIZE) {
+            header.putInt(MAGIC).putInt(UnrealDecompiler.VERSION).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            end = HEADER_SIZE;
+            return;
+        }
+
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != UnrealDecompiler.VERSION) {
+            throw new IOException("Not a decompiled source cache: " + path);
+        }
+        scan(HEADER_SIZE, size);
+    }
+
+    /**
+     * Indexes the records between {@code position} and {@code size}, cutting
+     * off a damaged tail. Must hold the file lock.
+     */
+    private void scan(long position, long size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (position + RECORD_HEADER_SIZE <= size) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            int kind = header.get();
+            int exportIndex = header.getInt();
+            header.position(header.position() + 8);
+            int compressedLength = header.getInt();
+            if (kind < 0 || kind >= Kind.values().length || compressedLength < 0
+                    || position + RECORD_HEADER_SIZE + compressedLength > size) {
+                break;
+            }
+            // Later records win; a class decompiled again replaces the old entry
+            index.put(key(Kind.values()[kind], exportIndex), position);
+            position += RECORD_HEADER_SIZE + compressedLength;
+        }
+        if (position < size) {
+            log.fine(() -> "Truncating damaged tail of " + path);
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    /**
+     * Checksum of the name table and of the raw data of the export and, for
+     * outputs that include them, of its direct members.
+     */
+    private int checksum(Kind kind, ExportEntry entry) throws IOException {
+        List<UnrealPackage.NameEntry> names = entry.getUnrealPackage().getNameTable();
+        NameChecksum current = nameChecksum;
+        if (current == null || current.names != names) {
+            nameChecksum = current = new NameChecksum(names);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(entry.getObjectRawData());
+        if (kind == Kind.CLASS || kind == Kind.STRUCT || kind == Kind.DEFAULT_PROPERTIES) {
+            int ref = entry.getObjectReference();
+            for (ExportEntry e : entry.getUnrealPackage().getExportTable()) {
+                UnrealPackage.Entry<?> pkg = e.getObjectPackage();
+                if (pkg != null && pkg.getObjectReference() == ref) {
+                    crc.update(e.getObjectName().getName().getBytes(StandardCharsets.UTF_8));
+                    crc.update(e.getObjectRawData());
+                }
+            }
+        }
+        return (int) crc.getValue() ^ current.value;
+    }
+
+    /**
+     * Returns the cached output for an export, or {@code null} on a miss.
+     */
+    public String get(Kind kind, ExportEntry entry) {
+        long position;
+        synchronized (this) {
+            Long p = index.get(key(kind, entry.getIndex()));
+            if (p == null) {
+                return null;
+            }
+            position = p;
+        }
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, position);
+            header.flip();
+            header.position(5);
+            int checksum = header.getInt();
+            int length = header.getInt();
+            int compressedLength = header.getInt();
+            if (checksum != checksum(kind, entry)) {
+                return null;
+            }
+
+            ByteBuffer compressed = ByteBuffer.allocate(compressedLength);
+            while (compressed.hasRemaining()) {
+                if (channel.read(compressed, position + RECORD_HEADER_SIZE + compressed.position()) < 0) {
+                    return null;
+                }
+            }
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed.array());
+                byte[] source = new byte[length];
+                int n = 0;
+                while (n < length && !inflater.finished()) {
+                    int count = inflater.inflate(source, n, length - n);
+                    if (count == 0) {
+                        // Truncated or corrupt record
+                        return null;
+                    }
+                    n += count;
+                }
+                return new String(source, 0, n, StandardCharsets.UTF_8);
+            } finally {
+                inflater.end();
+            }
+        } catch (IOException | DataFormatException e) {
+            log.log(Level.FINE, "Failed to read cached source", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the output for an export. Failures are logged and otherwise ignored.
+     */
+    public void put(Kind kind, ExportEntry entry, String source) {
+        int checksum;
+        try {
+            checksum = checksum(kind, entry);
+        } catch (IOException e) {
+            log.log(Level.FINE, "Failed to cache decompiled source", e);
+            return;
+        }
+        byte[] raw = source.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + compressed.size()).order(ByteOrder.LITTLE_ENDIAN);
+        record.put((byte) kind.ordinal())
+                .putInt(entry.getIndex())
+                .putInt(checksum)
+                .putInt(raw.length)
+                .putInt(compressed.size())
+                .put(compressed.toByteArray())
+                .flip();
+
+        synchronized (this) {
+            try (FileLock _ = channel.lock()) {
+                long size = channel.size();
+                if (size != end) {
+                    // Another process appended (or repaired) since we last looked
+                    scan(end, size);
+                }
+                long position = end;
+                while (record.hasRemaining()) {
+                    channel.write(record, position + record.position());
+                }
+                end = position + record.limit();
+                index.put(key(kind, entry.getIndex()), position);
+            } catch (IOException | OverlappingFileLockException e) {
+                log.log(Level.FINE, "Failed to cache decompiled source", e);
+            }
+        }
+    }
+}
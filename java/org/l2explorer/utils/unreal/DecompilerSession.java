@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.utils.unreal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.l2explorer.io.L2DataInput;
+import org.l2explorer.io.ObjectInput;
+import org.l2explorer.io.Serializer;
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.io.UnrealPackage.ExportEntry;
+import org.l2explorer.unreal.Env;
+import org.l2explorer.unreal.SimpleEnv;
+import org.l2explorer.unreal.UnrealRuntimeContext;
+import org.l2explorer.unreal.UnrealSerializerFactory;
+import org.l2explorer.unreal.bytecode.TokenSerializerFactory;
+import org.l2explorer.unreal.core.Class;
+
+/**
+ * State shared by every decompilation of one package.
+ * <p>A session owns a single environment and {@link UnrealSerializerFactory},
+ * so structs, native function tables and serializer caches loaded while
+ * decompiling one class (or one dependency package) are reused by every other
+ * class and function. Class objects read for member ordering are kept as well.
+ * A session is meant to live as long as its package is open, e.g. across UI
+ * selections, and is closed with it to release the persistent source cache.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public class DecompilerSession implements AutoCloseable {
+    private final UnrealPackage up;
+    private final Env environment;
+    private final UnrealSerializerFactory serializerFactory;
+    private final TokenSerializerFactory tokenSerializerFactory = new TokenSerializerFactory();
+    private final Map<ExportEntry, Class> classes = new HashMap<>();
+    private volatile DecompiledSourceCache sourceCache;
+    private volatile boolean sourceCacheOpened;
+
+    /**
+     * Creates a session over an existing factory (and the environment it was built with).
+     */
+    public DecompilerSession(UnrealPackage up, Env environment, UnrealSerializerFactory serializerFactory) {
+        this.up = Objects.requireNonNull(up, "Package cannot be null");
+        this.environment = Objects.requireNonNull(environment, "Environment cannot be null");
+        this.serializerFactory = Objects.requireNonNull(serializerFactory, "Serializer factory cannot be null");
+    }
+
+    public DecompilerSession(UnrealPackage up, Env environment) {
+        this(up, environment, new UnrealSerializerFactory(environment));
+    }
+
+    /**
+     * Creates a session resolving dependencies next to the package only.
+     */
+    public DecompilerSession(UnrealPackage up) {
+        this(up, new SimpleEnv(up));
+    }
+
+    public UnrealPackage getPackage() {
+        return up;
+    }
+
+    public Env getEnvironment() {
+        return environment;
+    }
+
+    public UnrealSerializerFactory getSerializerFactory() {
+        return serializerFactory;
+    }
+
+    public TokenSerializerFactory getTokenSerializerFactory() {
+        return tokenSerializerFactory;
+    }
+
+    /**
+     * Persistent store of decompiled sources for this package, opened on first use.
+     *
+     * @return the store, or {@code null} if caching is disabled
+     */
+    public DecompiledSourceCache getSourceCache() {
+        if (!sourceCacheOpened) {
+            synchronized (this) {
+                if (!sourceCacheOpened) {
+                    sourceCache = DecompiledSourceCache.open(up);
+                    sourceCacheOpened = true;
+                }
+            }
+        }
+        return sourceCache;
+    }
+
+    /**
+     * Releases the persistent source cache; the package itself stays open.
+     */
+    @Override
+    public void close() {
+        DecompiledSourceCache cache;
+        synchronized (this) {
+            cache = sourceCache;
+            sourceCache = null;
+        }
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    public UnrealRuntimeContext runtimeContext(ExportEntry entry) {
+        return new UnrealRuntimeContext(entry, serializerFactory);
+    }
+
+    /**
+     * Reads a class export (its field chain, states and default properties),
+     * once per session.
+     */
+    public Class readClass(ExportEntry classEntry) throws IOException {
+        synchronized (classes) {
+            Class cached = classes.get(classEntry);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        byte[] classData = classEntry.getObjectRawData();
+        L2DataInput di = L2DataInput.dataInput(new ByteArrayInputStream(classData), classEntry.getUnrealPackage().getFile().getCharset());
+        ObjectInput<UnrealRuntimeContext> input = ObjectInput.objectInput(di, serializerFactory, runtimeContext(classEntry));
+        Serializer<Class, UnrealRuntimeContext> serializer = serializerFactory.forClass(Class.class);
+        Class classObj = serializer.instantiate(input);
+        serializer.readObject(classObj, input);
+
+        synchronized (classes) {
+            Class cached = classes.putIfAbsent(classEntry, classObj);
+            return cached != null ? cached : classObj;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.utils.unreal;
+
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.unreal.Env;
+
+/**
+ * Decompiler state owned by one worker thread: a private read session on the
+ * package file and a {@link UnrealDecompiler} bound to it, so concurrent
+ * workers never share a file pointer, an object cache or a runtime context.
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class DecompilerWorker implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(DecompilerWorker.class.getName());
+
+    private final UnrealPackage session;
+    private final UnrealDecompiler decompiler;
+
+    /**
+     * @param up          Package to open a new session on.
+     * @param environment Creates the environment of the session.
+     * @throws IOException If the package file cannot be reopened.
+     */
+    public DecompilerWorker(UnrealPackage up, Function<UnrealPackage, Env> environment) throws IOException {
+        this.session = new UnrealPackage(up.getFile().openNewSession(true));
+        this.decompiler = new UnrealDecompiler(new DecompilerSession(session, environment.apply(session)));
+    }
+
+    /**
+     * @return The worker's own session on the package.
+     */
+    public UnrealPackage getSession() {
+        return session;
+    }
+
+    public UnrealDecompiler getDecompiler() {
+        return decompiler;
+    }
+
+    @Override
+    public void close() {
+        decompiler.getSession().close();
+        try {
+            session.close();
+        } catch (IOException e) {
+            log.log(Level.FINE, "Failed to close worker session", e);
+        }
+    }
+}
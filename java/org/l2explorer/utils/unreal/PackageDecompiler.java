@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2021 acmi
+ * Copyright (c) 2026 Galagard/L2Explorer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.l2explorer.utils.unreal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.l2explorer.io.UnrealPackage;
+import org.l2explorer.io.UnrealPackage.ExportEntry;
+import org.l2explorer.unreal.SimpleEnv;
+import org.l2explorer.utils.AtomicFiles;
+import org.l2explorer.utils.DaemonThreadFactory;
+
+/**
+ * Decompiles every {@code Core.Class} export of a package into
+ * {@code <outputDir>/Classes/<Name>.uc}.
+ * <p>Classes are processed by a fixed number of threads, each with its own
+ * {@link DecompilerWorker}. Every source file is written as soon as its class
+ * is done, through a temporary file moved into place, so an interrupted run
+ * never leaves truncated sources behind.</p>
+ *
+ * @author Galagard (L2Explorer Modernization)
+ * @since 19-10-2026
+ */
+public final class PackageDecompiler {
+    private static final Logger log = Logger.getLogger(PackageDecompiler.class.getName());
+
+    public static final String CLASS = "Core.Class";
+    public static final String SOURCE_DIR = "Classes";
+    public static final String SOURCE_EXTENSION = ".uc";
+    private static final String TEMP_SUFFIX = ".uc.tmp";
+
+    private final UnrealPackage up;
+    private final Path outputDir;
+    private final int threads;
+
+    /**
+     * @param up        Package to decompile. It is only used to list classes; workers read through their own sessions.
+     * @param outputDir Directory receiving the {@code Classes} folder.
+     * @param threads   Number of classes decompiled concurrently.
+     */
+    public PackageDecompiler(UnrealPackage up, Path outputDir, int threads) {
+        this.up = Objects.requireNonNull(up, "Package cannot be null");
+        this.outputDir = Objects.requireNonNull(outputDir, "Output directory cannot be null");
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is required");
+        }
+        this.threads = threads;
+    }
+
+    public PackageDecompiler(UnrealPackage up, Path outputDir) {
+        this(up, outputDir, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Decompiles all classes of the package.
+     *
+     * @param listener Called from the worker threads as each class completes (may be {@code null}).
+     * @return Results in export table order.
+     * @throws IOException If the output directory cannot be created or the run is interrupted.
+     */
+    public List<Result> run(Consumer<Result> listener) throws IOException {
+        List<Integer> classes = new ArrayList<>();
+        for (ExportEntry entry : up.getExportTable()) {
+            if (CLASS.equalsIgnoreCase(entry.getFullClassName())) {
+                classes.add(entry.getIndex());
+            }
+        }
+        Path sourceDir = outputDir.resolve(SOURCE_DIR);
+        Files.createDirectories(sourceDir);
+
+        List<DecompilerWorker> workers = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<DecompilerWorker> worker = new ThreadLocal<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("PackageDecompiler"));
+        try {
+            List<Future<Result>> futures = new ArrayList<>(classes.size());
+            for (int index : classes) {
+                futures.add(executor.submit(() -> {
+                    DecompilerWorker w = worker.get();
+                    if (w == null) {
+                        w = new DecompilerWorker(up, SimpleEnv::new);
+                        workers.add(w);
+                        worker.set(w);
+                    }
+                    Result result = process(w, index, sourceDir);
+                    if (listener != null) {
+                        listener.accept(result);
+                    }
+                    return result;
+                }));
+            }
+
+            List<Result> results = new ArrayList<>(classes.size());
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IOException("Decompilation worker failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Decompilation interrupted", e);
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+            for (DecompilerWorker w : workers) {
+                w.close();
+            }
+        }
+    }
+
+    private static Result process(DecompilerWorker worker, int index, Path sourceDir) {
+        ExportEntry entry = worker.getSession().getExportTable().get(index);
+        String name = entry.getObjectName().getName();
+        Path target = sourceDir.resolve(name + SOURCE_EXTENSION);
+        long start = System.nanoTime();
+        try {
+            String source = worker.getDecompiler().decompileClassComplete(entry);
+            AtomicFiles.write(target, TEMP_SUFFIX, temp -> Files.writeString(temp, source, StandardCharsets.UTF_8));
+            return new Result(name, target, source.length(), System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(name, target, 0, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Outcome of decompiling a single class.
+     */
+    public static final class Result {
+        private final String className;
+        private final Path target;
+        private final int length;
+        private final long nanos;
+        private final Exception error;
+
+        Result(String className, Path target, int length, long nanos, Exception error) {
+            this.className = className;
+            this.target = target;
+            this.length = length;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public Path getTarget() {
+            return target;
+        }
+
+        /** @return Length of the generated source, in characters. */
+        public int getLength() {
+            return length;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /** @return The failure cause, or {@code null} if the source was written. */
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            if (!isSuccess()) {
+                return String.format("%s: FAILED (%s)", className, error);
+            }
+            return String.format("%s: %d chars, %.1f ms", className, length, nanos / 1e6);
+        }
+    }
+
+    /**
+     * Command line entry point.
+     * <p>Usage: {@code PackageDecompiler <package> <outputDir> [threads]}</p>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PackageDecompiler <package> <outputDir> [threads]");
+            return;
+        }
+
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        List<Result> results;
+        try (UnrealPackage up = new UnrealPackage(args[0], true)) {
+            results = new PackageDecompiler(up, Path.of(args[1]), threads)
+                    .run(result -> log.info(result::toString));
+        }
+
+        long failed = results.stream().filter(r -> !r.isSuccess()).count();
+        log.info(String.format("%d classes, %d failed, %.1f s",
+                results.size(), failed, (System.nanoTime() - start) / 1e9));
+    }
+}
@@ -27,6 +27,8 @@ import org.l2explorer.unreal.SimpleEnv;
 import org.l2explorer.unreal.UnrealRuntimeContext;
 import org.l2explorer.unreal.UnrealSerializerFactory;
 import org.l2explorer.unreal.bytecode.BytecodeContext;
+import org.l2explorer.unreal.bytecode.BytecodeIR;
+import org.l2explorer.unreal.bytecode.ControlFlowGraph;
 import org.l2explorer.unreal.bytecode.TokenSerializerFactory;
 import org.l2explorer.unreal.bytecode.token.Length;
 import org.l2explorer.unreal.bytecode.token.Token;
@@ -41,11 +43,18 @@ import org.l2explorer.utils.enums.UnrealOpcode;
  */
 
 public class UnrealDecompiler {
+    /** Bumped whenever the generated output changes, invalidating {@link DecompiledSourceCache} files. */
+    public static final int VERSION = 2;
+
+    /** Lists function bodies as basic blocks instead of {@code Function.toString()}; a debugging aid. */
+    private static final boolean LIST_CONTROL_FLOW = Boolean.getBoolean("L2unreal.listControlFlow");
+
     private UnrealPackage up;
     private ExplorerPanel.DebugConsole console;
     @SuppressWarnings("unused")
     private byte[] rawData;
     private File baseDir;
+    private DecompilerSession session;
     private UnrealSerializerFactory serializerFactory;
     
     /**
@@ -55,8 +64,82 @@ public class UnrealDecompiler {
      * UnrealPackage up status and BaseDir configuration
      */
     public UnrealDecompiler(UnrealPackage up, UnrealSerializerFactory factory) {
-        this.up = up;
-        this.serializerFactory = factory;
+        this(new DecompilerSession(up, new SimpleEnv(up), factory));
+    }
+
+    /**
+     * Creates a decompiler sharing the factory and caches of {@code session}.
+     */
+    public UnrealDecompiler(DecompilerSession session) {
+        this.session = session;
+        this.up = session.getPackage();
+        this.serializerFactory = session.getSerializerFactory();
+    }
+
+    public DecompilerSession getSession() {
+        return session;
+    }
+
+    @FunctionalInterface
+    private interface Source<E extends Exception> {
+        String get() throws E;
+    }
+
+    /**
+     * Whether the output being produced on this thread fell back somewhere.
+     */
+    private static final class Outcome {
+        boolean incomplete;
+    }
+
+    private static final ThreadLocal<Outcome> OUTCOME = new ThreadLocal<>();
+
+    /**
+     * Marks the output being produced as incomplete: an error or fallback that
+     * may depend on which dependency packages were available. Incomplete
+     * outputs, and every output embedding them, are not persisted.
+     */
+    private static void incomplete() {
+        Outcome outcome = OUTCOME.get();
+        if (outcome != null) {
+            outcome.incomplete = true;
+        }
+    }
+
+    /**
+     * Returns the persisted output for {@code entry} or produces it, storing it
+     * only if nothing reported {@link #incomplete()} while it was produced.
+     * Block listings end up in class outputs too, so the store is not used at
+     * all while they are enabled.
+     */
+    private <E extends Exception> String cached(DecompiledSourceCache.Kind kind, ExportEntry entry, Source<E> source) throws E {
+        DecompiledSourceCache cache = entry.getUnrealPackage() == session.getPackage() ? session.getSourceCache() : null;
+        if (cache == null || LIST_CONTROL_FLOW) {
+            return source.get();
+        }
+        String result = cache.get(kind, entry);
+        if (result != null) {
+            return result;
+        }
+
+        Outcome outer = OUTCOME.get();
+        Outcome outcome = new Outcome();
+        OUTCOME.set(outcome);
+        try {
+            result = source.get();
+        } catch (Exception e) {
+            outcome.incomplete = true;
+            throw e;
+        } finally {
+            OUTCOME.set(outer);
+            if (outer != null && outcome.incomplete) {
+                outer.incomplete = true;
+            }
+        }
+        if (result != null && !outcome.incomplete) {
+            cache.put(kind, entry, result);
+        }
+        return result;
     }
 
     public File getBaseDir() {
@@ -77,6 +160,12 @@ public class UnrealDecompiler {
      */
     public void setUp(UnrealPackage up) {
         this.up = up;
+        if (up != session.getPackage()) {
+            // Keep the configured environment and factory, only the per-package state is new
+            DecompilerSession previous = session;
+            session = new DecompilerSession(up, previous.getEnvironment(), previous.getSerializerFactory());
+            previous.close();
+        }
     }
 
     /**
@@ -110,12 +199,11 @@ public class UnrealDecompiler {
      * @return Código UnrealScript ou Disassembly.
      */
     public String decompileFunction(ExportEntry entry) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        // Context: Use the injected factory to maintain environment consistency
-        if (this.serializerFactory == null) {
-            this.serializerFactory = new UnrealSerializerFactory(new org.l2explorer.unreal.SimpleEnv(entry.getUnrealPackage()));
-        }
+        return cached(DecompiledSourceCache.Kind.FUNCTION, entry, () -> decompileFunctionUncached(entry));
+    }
 
+    private String decompileFunctionUncached(ExportEntry entry) throws IOException {
+        StringBuilder sb = new StringBuilder();
         try {
             sb.append("// Entry class: ").append(entry.getFullClassName()).append("\n");
             
@@ -125,11 +213,17 @@ public class UnrealDecompiler {
 
             if (obj instanceof org.l2explorer.unreal.core.Function) {
                 org.l2explorer.unreal.core.Function func = (org.l2explorer.unreal.core.Function) obj;
-                // Se o motor ACMI conseguiu ler os tokens, usamos o toString do objeto
-                sb.append(func.toString()); 
+                Token[] bytecode = func.getBytecode();
+                if (LIST_CONTROL_FLOW && bytecode != null && bytecode.length > 0) {
+                    sb.append(listBytecode(entry, bytecode));
+                } else {
+                    // Se o motor ACMI conseguiu ler os tokens, usamos o toString do objeto
+                    sb.append(func.toString());
+                }
             } else {
                 // --- TENTATIVA 2: FALLBACK PARA DISASSEMBLER MANUAL ---
                 // Se a serialização falhou ou o objeto veio vazio, usamos seu motor de leitura bruta
+                incomplete();
                 byte[] data = entry.getObjectRawData();
                 if (data != null && data.length > 44) {
                     sb.append(disassembleRawBytecode(data));
@@ -138,11 +232,43 @@ public class UnrealDecompiler {
                 }
             }
         } catch (Exception e) {
+            incomplete();
             sb.append("// ❌ Decompile Error: ").append(e.getMessage()).append("\n");
         }
         return sb.toString();
     }
 
+    /**
+     * Lists the decoded statements grouped into basic blocks, with memory offsets
+     * and the incoming/outgoing edges of each block. Only used when
+     * {@code L2unreal.listControlFlow} is set.
+     */
+    private String listBytecode(ExportEntry entry, Token[] bytecode) {
+        BytecodeIR ir = BytecodeIR.of(bytecode, new BytecodeContext(entry.getUnrealPackage()));
+        ControlFlowGraph cfg = ControlFlowGraph.build(ir);
+        UnrealRuntimeContext runtimeCtx = session.runtimeContext(entry);
+
+        StringBuilder lsb = new StringBuilder();
+        for (int b = 0; b < cfg.getBlockCount(); b++) {
+            lsb.append(String.format("// block %d%s%s preds=%s succs=%s\n", b,
+                    cfg.isLoopHeader(b) ? " [loop]" : "",
+                    cfg.isReachable(b) ? "" : " [unreachable]",
+                    java.util.Arrays.toString(cfg.getPredecessors(b)),
+                    java.util.Arrays.toString(cfg.getSuccessors(b))));
+            for (int i = cfg.getBlockStart(b); i < cfg.getBlockEnd(b); i++) {
+                String text;
+                try {
+                    text = ir.getToken(i).toString(runtimeCtx);
+                } catch (Exception e) {
+                    incomplete();
+                    text = ir.getToken(i).toString();
+                }
+                lsb.append(String.format("    0x%04X: %s\n", ir.getOffset(i), text));
+            }
+        }
+        return lsb.toString();
+    }
+
     /**
      * 
      * @param data
@@ -283,9 +409,8 @@ public class UnrealDecompiler {
             
             UnrealPackage up = entry.getUnrealPackage();
             BytecodeContext context = new BytecodeContext(up);
-            TokenSerializerFactory tokenFactory = new TokenSerializerFactory();
-            UnrealSerializerFactory serializerFactory = new UnrealSerializerFactory(new SimpleEnv(up));
-            UnrealRuntimeContext runtimeCtx = new UnrealRuntimeContext(entry, serializerFactory);
+            TokenSerializerFactory tokenFactory = session.getTokenSerializerFactory();
+            UnrealRuntimeContext runtimeCtx = session.runtimeContext(entry);
             
             bais.skip(44); // Pula header
             ObjectInput<BytecodeContext> input = ObjectInput.objectInput(di, tokenFactory, context);
@@ -356,6 +481,10 @@ public class UnrealDecompiler {
      * Decompile the class completely, with fails trhow to Exception
      */
     public String decompileClassComplete(ExportEntry classEntry) throws IOException {
+        return cached(DecompiledSourceCache.Kind.CLASS, classEntry, () -> decompileClassCompleteUncached(classEntry));
+    }
+
+    private String decompileClassCompleteUncached(ExportEntry classEntry) throws IOException {
         StringBuilder sb = new StringBuilder();
         UnrealPackage up = classEntry.getUnrealPackage();
         
@@ -369,6 +498,7 @@ public class UnrealDecompiler {
                 }
             }
         } catch (Exception e) {
+            incomplete();
             superName = "Object";
         }
 
@@ -393,7 +523,9 @@ public class UnrealDecompiler {
                      sb.append("// Format: ").append(info.properties.getFormat()).append("\n");
                      sb.append("// Dimension: ").append(info.properties.getWidth()).append("x").append(info.properties.getHeight()).append("\n");
                  });
-            } catch (Exception ignore) {}
+            } catch (Exception e) {
+                incomplete();
+            }
 
             return sb.toString();
         }       
@@ -417,15 +549,8 @@ public class UnrealDecompiler {
         // 2. Tentativa de ler a Chain para ordenar (A "Caixa de Pandora")
         boolean chainLoaded = false;
         try {
-            byte[] classData = classEntry.getObjectRawData();
-            if (classData != null && classData.length > 0) {
-                UnrealSerializerFactory sf = new UnrealSerializerFactory(new SimpleEnv(up));
-                UnrealRuntimeContext runtimeCtx = new UnrealRuntimeContext(classEntry, sf);
-                L2DataInput di = L2DataInput.dataInput(new ByteArrayInputStream(classData), up.getFile().getCharset());
-                org.l2explorer.io.ObjectInput<UnrealRuntimeContext> input = new org.l2explorer.io.UnrealObjectInput<>(di, sf, runtimeCtx);
-
-                org.l2explorer.unreal.core.Class classObj = (org.l2explorer.unreal.core.Class) sf.forClass(org.l2explorer.unreal.core.Class.class).instantiate(input);
-                sf.forClass(org.l2explorer.unreal.core.Class.class).readObject(classObj, input);
+            if (classEntry.getSize() > 0) {
+                org.l2explorer.unreal.core.Class classObj = session.readClass(classEntry);
 
                 for (Field f : classObj) {
                     ExportEntry child = f.getEntry();
@@ -434,7 +559,7 @@ public class UnrealDecompiler {
                 chainLoaded = true;
             }
         } catch (Exception e) {
-
+            incomplete();
         }
 
         if (!chainLoaded || (constants.isEmpty() && properties.isEmpty() && functions.isEmpty())) {
@@ -501,6 +626,7 @@ public class UnrealDecompiler {
                         }
                     }
                 } catch (Exception e) {
+                    incomplete();
                     sb.append("\t// Error decompiling: ").append(e.getMessage()).append("\n");
                 }
                 sb.append("}\n\n");
@@ -517,6 +643,7 @@ public class UnrealDecompiler {
                 sb.append(defaults).append("\n");
             }
         } catch (Exception e) {
+            incomplete();
             sb.append("\n// Error in defaultproperties: ").append(e.getMessage()).append("\n");
         }
 
@@ -534,6 +661,10 @@ public class UnrealDecompiler {
 			}
     
     public String decompileEnum(ExportEntry enumEntry) {
+        return cached(DecompiledSourceCache.Kind.ENUM, enumEntry, () -> decompileEnumUncached(enumEntry));
+    }
+
+    private String decompileEnumUncached(ExportEntry enumEntry) {
         StringBuilder sb = new StringBuilder();
         String enumName = enumEntry.getObjectName().getName();
         sb.append("enum ").append(enumName).append("\n{\n");
@@ -574,6 +705,7 @@ public class UnrealDecompiler {
                 }
             }
         } catch (Exception e) {
+            incomplete();
             sb.append("    // Error: ").append(e.getMessage()).append("\n");
         }
 
@@ -590,6 +722,10 @@ public class UnrealDecompiler {
      */
     
     public String decompileStruct(ExportEntry structEntry) {
+        return cached(DecompiledSourceCache.Kind.STRUCT, structEntry, () -> decompileStructUncached(structEntry));
+    }
+
+    private String decompileStructUncached(ExportEntry structEntry) {
         StringBuilder sb = new StringBuilder();
         String structName = structEntry.getObjectName().getName();
         int structRef = structEntry.getObjectReference();
@@ -657,7 +793,7 @@ public class UnrealDecompiler {
                 }
             }
         } catch (Exception e) {
-
+            incomplete();
         }
         return scanBruto(c);
     }
@@ -695,6 +831,10 @@ public class UnrealDecompiler {
     }
     
     public String decompileDefaultProperties(ExportEntry classEntry, List<ExportEntry> properties) throws IOException {
+        return cached(DecompiledSourceCache.Kind.DEFAULT_PROPERTIES, classEntry, () -> decompileDefaultPropertiesUncached(classEntry, properties));
+    }
+
+    private String decompileDefaultPropertiesUncached(ExportEntry classEntry, List<ExportEntry> properties) throws IOException {
         byte[] data = classEntry.getObjectRawData();
         if (data == null || data.length < 4) return "";
 
@@ -801,6 +941,7 @@ public class UnrealDecompiler {
                         }
                     }
                 } catch (Exception e) {
+                    incomplete();
                     value = "/* parse error at " + bais.available() + " */";
                 }
 
@@ -809,6 +950,7 @@ public class UnrealDecompiler {
             sb.append("}\n");
 
         } catch (Exception e) {
+            incomplete();
             return "// Error: " + e.getMessage();
         }
         return sb.toString();
@@ -882,6 +1024,7 @@ public class UnrealDecompiler {
             }
         } catch (Exception e) {
             // Fallback
+            incomplete();
         }
         return "var " + typeName + " " + name + ";";
     }